@@ -18,4 +18,9 @@ public abstract class Command {
 
     public abstract String execute() throws InvalidIndexException, UnknownCommandException;
     public abstract boolean isExit();
+
+    /**
+     * Returns true if the command can change the task list, so it may need to be saved
+     */
+    public abstract boolean isMutating();
 }
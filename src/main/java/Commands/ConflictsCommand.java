@@ -0,0 +1,32 @@
+package Commands;
+
+public class ConflictsCommand extends Command {
+    String userInput;
+
+    public ConflictsCommand(String userInput) {
+
+        this.userInput = userInput;
+    }
+
+    /**
+     * Displays clashing events on a date, or on every date, via method in storelist class
+     *
+     * @return a string
+     */
+    @Override
+    public String execute() {
+
+        return storeList.displayConflicts(userInput.substring("conflicts".length()).trim());
+    }
+
+    @Override
+    public boolean isExit() {
+
+        return false;
+    }
+
+    @Override
+    public boolean isMutating() {
+        return false;
+    }
+}
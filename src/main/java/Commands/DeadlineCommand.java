@@ -25,4 +25,9 @@ public class DeadlineCommand extends Command {
 
         return false;
     }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
 }
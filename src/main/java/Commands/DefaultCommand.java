@@ -24,4 +24,9 @@ public class DefaultCommand extends Command {
 
         return false;
     }
+
+    @Override
+    public boolean isMutating() {
+        return false;
+    }
 }
@@ -17,10 +17,13 @@ public class DeleteCommand extends Command {
      */
     @Override
     public String execute() throws InvalidIndexException {
-        // Split the string by spaces
-        String[] words = userInput.split(" ");
-        int itemNum = Integer.parseInt(words[1]);
-        return storeList.deleteItem(itemNum);
+        // a single task number keeps the single task reply, anything else is a bulk selection
+        String[] words = userInput.split(" ", 2);
+        String tasks = words.length > 1 ? words[1].trim() : "";
+        if (tasks.matches("\\d+")) {
+            return storeList.deleteItem(Integer.parseInt(tasks));
+        }
+        return storeList.deleteItems(tasks);
     }
 
     @Override
@@ -28,4 +31,9 @@ public class DeleteCommand extends Command {
 
         return false;
     }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
 }
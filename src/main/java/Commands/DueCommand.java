@@ -24,4 +24,9 @@ public class DueCommand extends Command {
 
         return false;
     }
+
+    @Override
+    public boolean isMutating() {
+        return false;
+    }
 }
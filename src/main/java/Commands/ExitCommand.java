@@ -12,13 +12,20 @@ public class ExitCommand extends Command {
         return true;
     }
 
+    @Override
+    public boolean isMutating() {
+        return false;
+    }
+
 
     /**
+     * Waits for pending writes to reach the disk before the app closes
      *
      * @return a string of exit message
      */
     @Override
     public String execute() {
+        storeList.flush();
         return "    Bye. Hope to see ya again soon!";
     }
 
@@ -1,5 +1,7 @@
 package Commands;
 
+import java.util.Arrays;
+
 public class FindCommand extends Command {
     private String userInput;
 
@@ -9,15 +11,20 @@ public class FindCommand extends Command {
     }
 
     /**
-     * Displays items in list with matching word via method in storelist class
+     * Displays items in list with matching word via method in storelist class.
+     * find /all and find /any match whole words, any capitalisation, through the keyword index
      *
      * @return a string
      */
     @Override
     public String execute() {
-       
+
         String[] keywords = userInput.substring(4).trim().split("\\s+");
 
+        if (keywords[0].equals("/all") || keywords[0].equals("/any")) {
+            String[] words = Arrays.copyOfRange(keywords, 1, keywords.length);
+            return storeList.displayItemsWithWords(keywords[0].equals("/all"), words);
+        }
         return storeList.displayItemsWithWord(keywords);
     }
 
@@ -26,4 +33,9 @@ public class FindCommand extends Command {
 
         return false;
     }
+
+    @Override
+    public boolean isMutating() {
+        return false;
+    }
 }
\ No newline at end of file
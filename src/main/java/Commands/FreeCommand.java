@@ -0,0 +1,36 @@
+package Commands;
+
+public class FreeCommand extends Command {
+    String userInput;
+
+    public FreeCommand(String userInput) {
+
+        this.userInput = userInput;
+    }
+
+    /**
+     * Displays free time between events via method in storelist class
+     *
+     * @return a string
+     */
+    @Override
+    public String execute() {
+        // input of format free 2020-12-10 1h30m or free 2020-12-10..2020-12-20 90m
+        String[] words = userInput.trim().split("\\s+");
+        if (words.length != 3) {
+            return "OOPS!!! Pls use free [date] or [date]..[date] [duration like 1h30m] leh";
+        }
+        return storeList.displayFreeSlots(words[1], words[2]);
+    }
+
+    @Override
+    public boolean isExit() {
+
+        return false;
+    }
+
+    @Override
+    public boolean isMutating() {
+        return false;
+    }
+}
@@ -13,6 +13,11 @@ public class IntroCommand extends Command {
             return false;
         }
 
+        @Override
+        public boolean isMutating() {
+            return false;
+        }
+
 
         /**
          *
@@ -25,14 +30,23 @@ public class IntroCommand extends Command {
                     "\n- todo [desc] (to add a todo task)\n" +
                     "- deadline [desc] /by [yyyy-MM-dd or dd/MM/yyy 16:00] (to add a deadline task)\n" +
                     "- event [desc] /from [16:00] /to [18:00] /on [yyyy-MM-dd or dd/MM/yyyy] (to add an event)\n" +
+                    "- deadline or event ... /every [num] [day, week or month] [until date or count num] (to repeat it)\n" +
                     "- mark [index num] (to mark a task as completed)\n" +
                     "- unmark [index num] (to unmark a task thats completed)\n" +
                     "- delete [index num] (to delete a task)\n" +
+                    "- mark, unmark or delete [1-5,7 or done, undone, all] (to change many tasks at once)\n" +
                     "- list (to view all tasks)\n" +
+                    "- list [page num] or list --from [task num] --limit [num] (to view some tasks)\n" +
                     "- find [keywords] (to find tasks with keyword)\n" +
+                    "- find /all or /any [words] (to find tasks with all or any of the words)\n" +
+                    "- stats (to view list size and memory use)\n" +
                     "- bye\n" +
                     "- hi\n" +
                     "- due [yyyy-MM-dd or dd/MM/yyyy] (find tasks due on date)\n" +
+                    "- due [date]..[date] (find tasks due between two dates)\n" +
+                    "- conflicts [yyyy-MM-dd or dd/MM/yyyy] (find clashing events on date, or on any date)\n" +
+                    "- free [date] or [date]..[date] [duration like 1h30m] (find free time between events)\n" +
+                    "- next [num] (to view your next deadlines)\n" +
                     "- update <num> <desc, date, startTime, endTime, time> /to <newValue> (to update task info));";
         }
 
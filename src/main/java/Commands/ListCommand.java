@@ -1,5 +1,7 @@
 package Commands;
 
+import Data.StoreList;
+
 public class ListCommand extends Command {
     String userInput;
 
@@ -9,14 +11,52 @@ public class ListCommand extends Command {
     }
 
     /**
-     * Displays items in list via method in storelist class
+     * Displays items in list via method in storelist class.
+     * list shows every task, list 2 shows the second page and
+     * list --from 500 --limit 50 shows 50 tasks from task 500
      *
      * @return
      */
     @Override
     public String execute() {
 
-        return storeList.displayItems();
+        String[] words = userInput.substring(4).trim().split("\\s+");
+        if (words[0].isEmpty()) {
+            return storeList.displayItems();
+        }
+
+        try {
+            if (words.length == 1) {
+                int page = Integer.parseInt(words[0]);
+                if (page < 1) {
+                    return "OOPS!!! Page number must be more than 0 leh";
+                }
+                return storeList.displayItems((page - 1) * StoreList.PAGE_SIZE + 1, StoreList.PAGE_SIZE);
+            }
+
+            int from = 1;
+            int limit = StoreList.PAGE_SIZE;
+            for (int i = 0; i < words.length; i += 2) {
+                if (i + 1 == words.length) {
+                    return getUsage();
+                }
+                if (words[i].equals("--from")) {
+                    from = Integer.parseInt(words[i + 1]);
+                } else if (words[i].equals("--limit")) {
+                    limit = Integer.parseInt(words[i + 1]);
+                } else {
+                    return getUsage();
+                }
+            }
+            return storeList.displayItems(from, limit);
+
+        } catch (NumberFormatException e) {
+            return getUsage();
+        }
+    }
+
+    private static String getUsage() {
+        return "OOPS!!! Pls use list, list [page num] or list --from [task num] --limit [num] leh";
     }
 
     @Override
@@ -24,4 +64,9 @@ public class ListCommand extends Command {
 
         return false;
     }
+
+    @Override
+    public boolean isMutating() {
+        return false;
+    }
 }
@@ -16,14 +16,13 @@ public class MarkCommand extends Command {
      */
     @Override
     public String execute() throws InvalidIndexException {
-        // Split the string by spaces
-        String[] words = userInput.split(" ");
-        int itemNum = Integer.parseInt(words[1]);
-
-        // Execute the mark item logic and get the result message
-        return storeList.markItem(itemNum);
-
-
+        // a single task number keeps the single task reply, anything else is a bulk selection
+        String[] words = userInput.split(" ", 2);
+        String tasks = words.length > 1 ? words[1].trim() : "";
+        if (tasks.matches("\\d+")) {
+            return storeList.markItem(Integer.parseInt(tasks));
+        }
+        return storeList.markItems(tasks);
     }
 
     @Override
@@ -31,4 +30,9 @@ public class MarkCommand extends Command {
 
         return false;
     }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
 }
@@ -0,0 +1,44 @@
+package Commands;
+
+import java.time.LocalDate;
+
+public class NextCommand extends Command {
+    private static final int DEFAULT_COUNT = 5;
+
+    String userInput;
+
+    public NextCommand(String userInput) {
+
+        this.userInput = userInput;
+    }
+
+    /**
+     * Displays the next deadlines from today via method in storelist class
+     *
+     * @return a string
+     */
+    @Override
+    public String execute() {
+
+        String count = userInput.substring(4).trim();
+        if (count.isEmpty()) {
+            return storeList.nextDeadlines(DEFAULT_COUNT, LocalDate.now());
+        }
+        try {
+            return storeList.nextDeadlines(Integer.parseInt(count), LocalDate.now());
+        } catch (NumberFormatException e) {
+            return "OOPS!!! Pls use next [number] leh";
+        }
+    }
+
+    @Override
+    public boolean isExit() {
+
+        return false;
+    }
+
+    @Override
+    public boolean isMutating() {
+        return false;
+    }
+}
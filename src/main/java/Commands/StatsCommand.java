@@ -0,0 +1,32 @@
+package Commands;
+
+public class StatsCommand extends Command {
+    String userInput;
+
+    public StatsCommand(String userInput) {
+
+        this.userInput = userInput;
+    }
+
+    /**
+     * Displays size and memory use of the list and its indexes via method in storelist class
+     *
+     * @return a string
+     */
+    @Override
+    public String execute() {
+
+        return storeList.displayStats();
+    }
+
+    @Override
+    public boolean isExit() {
+
+        return false;
+    }
+
+    @Override
+    public boolean isMutating() {
+        return false;
+    }
+}
@@ -24,4 +24,9 @@ public class ToDoCommand extends Command {
 
         return false;
     }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
 }
@@ -17,10 +17,13 @@ public class UnmarkCommand extends Command {
      */
     @Override
     public String execute() throws InvalidIndexException {
-        // Split the string by spaces
-        String[] words = userInput.split(" ");
-        int itemNum = Integer.parseInt(words[1]);
-        return storeList.UnmarkItem(itemNum);
+        // a single task number keeps the single task reply, anything else is a bulk selection
+        String[] words = userInput.split(" ", 2);
+        String tasks = words.length > 1 ? words[1].trim() : "";
+        if (tasks.matches("\\d+")) {
+            return storeList.UnmarkItem(Integer.parseInt(tasks));
+        }
+        return storeList.unmarkItems(tasks);
     }
 
     @Override
@@ -28,4 +31,9 @@ public class UnmarkCommand extends Command {
 
         return false;
     }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
 }
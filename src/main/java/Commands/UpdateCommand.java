@@ -67,4 +67,9 @@ public class UpdateCommand extends Command {
 
         return false;
     }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
 }
@@ -0,0 +1,430 @@
+package Data;
+
+import Exceptions.EmptyDescException;
+import Exceptions.InvalidRecurrenceException;
+import Tasks.Deadlines;
+import Tasks.Events;
+import Tasks.Recurrence;
+import Tasks.Task;
+import Tasks.ToDos;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary snapshot format.
+ * Deadlines and events are stored with their dates and times already parsed,
+ * so loading builds tasks straight from the stored fields without splitting
+ * desc or trying date formats again. Written with the same temp file, fsync
+ * and atomic rename as the text snapshot.
+ *
+ * Format (numbers are zigzag varints, strings are varint length + UTF-8):
+ *   "EMTX" version seq           header
+ *   length crc32 payload         one record per task, crc32 as 4 big endian bytes
+ *   0 count                      footer
+ *   offsets tablePosition "EMTI" index trailer, offsets and position as 8 byte longs
+ * The trailer lets FileTaskList find every record without reading them.
+ * Payload: type status desc, then for deadlines and events the length of the
+ * title within desc, a mask of the fields present and the fields themselves,
+ * ending with the text after /every for tasks that repeat.
+ */
+public class BinarySnapshot {
+    private static final byte[] MAGIC = {'E', 'M', 'T', 'X'};
+    static final byte[] INDEX_MAGIC = {'E', 'M', 'T', 'I'};
+    static final int TRAILER_SIZE = 12;
+
+    // version 1 files have no index trailer, version 2 files have no recurrences
+    private static final int VERSION = 3;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // masks of the fields present in a deadline payload
+    private static final int DEADLINE_DATE_TIME = 1;
+    private static final int DEADLINE_DATE = 2;
+    private static final int DEADLINE_TIME = 4;
+    private static final int DEADLINE_RAW = 8;
+    private static final int DEADLINE_RECURRENCE = 16;
+
+    // masks of the fields present in an event payload
+    private static final int EVENT_DATE = 1;
+    private static final int EVENT_START = 2;
+    private static final int EVENT_END = 4;
+    private static final int EVENT_RAW = 8;
+    private static final int EVENT_RECURRENCE = 16;
+
+    /**
+     * Returns true if the file at path starts with the binary snapshot header
+     *
+     * @param path file to check
+     */
+    public static boolean isBinary(Path path) throws IOException {
+        byte[] start = new byte[MAGIC.length];
+        try (InputStream in = Files.newInputStream(path)) {
+            return in.readNBytes(start, 0, start.length) == start.length && Arrays.equals(start, MAGIC);
+        }
+    }
+
+    /**
+     * Writes tasks as the new snapshot at path
+     *
+     * @param path snapshot file to replace
+     * @param tasks tasks to be written
+     * @param seq last journal seq the tasks contain
+     */
+    public static void write(Path path, List<Task> tasks, long seq) throws IOException {
+        Path temp = Paths.get(path + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        Bytes payload = new Bytes();
+        Bytes frame = new Bytes();
+        CRC32 crc = new CRC32();
+
+        // random access for the raw copy of records a file-backed list never loaded
+        FileTaskList stored = tasks instanceof FileTaskList ? (FileTaskList) tasks : null;
+        long[] offsets = new long[tasks.size()];
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            frame.putBytes(MAGIC);
+            frame.putVarLong(VERSION);
+            frame.putVarLong(seq);
+            Snapshot.put(channel, buffer, frame.data, frame.length);
+            long position = frame.length;
+
+            for (int i = 0; i < offsets.length; i++) {
+                frame.clear();
+                // a damaged record is not copied, the task it decodes to is written instead
+                if (stored == null || stored.isMaterialized(i) || !stored.copyFrame(i, frame)) {
+                    payload.clear();
+                    encode(tasks.get(i), payload);
+                    crc.reset();
+                    crc.update(payload.data, 0, payload.length);
+
+                    frame.putVarLong(payload.length);
+                    frame.putInt((int) crc.getValue());
+                    frame.putBytes(payload.data, payload.length);
+                }
+                Snapshot.put(channel, buffer, frame.data, frame.length);
+                offsets[i] = position;
+                position += frame.length;
+            }
+
+            frame.clear();
+            frame.putVarLong(0);
+            frame.putVarLong(offsets.length);
+            long tablePosition = position + frame.length;
+            for (long offset : offsets) {
+                frame.putLong(offset);
+            }
+            frame.putLong(tablePosition);
+            frame.putBytes(INDEX_MAGIC);
+            Snapshot.put(channel, buffer, frame.data, frame.length);
+            Snapshot.drain(channel, buffer);
+            channel.force(true);
+        }
+
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Snapshot.forceDirectory(path);
+    }
+
+    /**
+     * Reads the snapshot at path into tasks.
+     * Stops at the first damaged record and keeps the tasks before it.
+     *
+     * @param path snapshot file to read
+     * @param tasks list to add the stored tasks to
+     * @return last journal seq contained in the snapshot
+     */
+    public static long read(Path path, List<Task> tasks) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(path), BUFFER_SIZE))) {
+            long seq = readHeader(in);
+            CRC32 crc = new CRC32();
+
+            try {
+                while (true) {
+                    int length = (int) readVarLong(in);
+                    if (length == 0) {
+                        if (readVarLong(in) != tasks.size()) {
+                            System.out.println("Snapshot incomplete, recovered first " + tasks.size() + " tasks");
+                        }
+                        return seq;
+                    }
+
+                    int storedCrc = in.readInt();
+                    byte[] payload = new byte[length];
+                    in.readFully(payload);
+                    crc.reset();
+                    crc.update(payload);
+                    if ((int) crc.getValue() != storedCrc) {
+                        System.out.println("Snapshot damaged, recovered first " + tasks.size() + " tasks");
+                        return seq;
+                    }
+                    tasks.add(decode(ByteBuffer.wrap(payload)));
+                }
+            } catch (EOFException e) {
+                System.out.println("Snapshot incomplete, recovered first " + tasks.size() + " tasks");
+                return seq;
+            }
+        }
+    }
+
+    private static long readHeader(DataInputStream in) throws IOException {
+        byte[] magic = new byte[MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a binary snapshot");
+        }
+        long version = readVarLong(in);
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        return readVarLong(in);
+    }
+
+    /**
+     * Appends the payload of one task to out
+     *
+     * @param task task to be stored
+     * @param out buffer to append to
+     */
+    static void encode(Task task, Bytes out) {
+        out.putByte(Storage.taskType(task));
+        out.putByte(task.getStatusIcon().equals("X") ? 1 : 0);
+        out.putString(task.getTaskDesc());
+
+        if (task instanceof Deadlines) {
+            Deadlines deadline = (Deadlines) task;
+            LocalDateTime dateTime = deadline.getLocalDateTime();
+            LocalDate date = deadline.getStoredDate();
+            LocalTime time = deadline.getLocalTime();
+            String raw = deadline.getRawDeadline();
+            Recurrence recurrence = deadline.getRecurrence();
+
+            out.putVarLong(deadline.getTitle().length());
+            out.putByte((dateTime != null ? DEADLINE_DATE_TIME : 0) | (date != null ? DEADLINE_DATE : 0)
+                    | (time != null ? DEADLINE_TIME : 0) | (raw != null ? DEADLINE_RAW : 0)
+                    | (recurrence != null ? DEADLINE_RECURRENCE : 0));
+            if (dateTime != null) {
+                out.putVarLong(dateTime.toLocalDate().toEpochDay());
+                out.putVarLong(dateTime.toLocalTime().toSecondOfDay());
+            }
+            if (date != null) {
+                out.putVarLong(date.toEpochDay());
+            }
+            if (time != null) {
+                out.putVarLong(time.toSecondOfDay());
+            }
+            if (raw != null) {
+                out.putString(raw);
+            }
+            if (recurrence != null) {
+                out.putString(recurrence.getSpec());
+            }
+        } else if (task instanceof Events) {
+            Events event = (Events) task;
+            LocalDate date = event.getLocalDate();
+            LocalTime start = event.getLocalStartTime();
+            LocalTime end = event.getLocalEndTime();
+            String raw = event.getRawDeadline();
+            Recurrence recurrence = event.getRecurrence();
+
+            out.putVarLong(event.getTitle().length());
+            out.putByte((date != null ? EVENT_DATE : 0) | (start != null ? EVENT_START : 0)
+                    | (end != null ? EVENT_END : 0) | (raw != null ? EVENT_RAW : 0)
+                    | (recurrence != null ? EVENT_RECURRENCE : 0));
+            if (date != null) {
+                out.putVarLong(date.toEpochDay());
+            }
+            if (start != null) {
+                out.putVarLong(start.toSecondOfDay());
+            }
+            if (end != null) {
+                out.putVarLong(end.toSecondOfDay());
+            }
+            if (raw != null) {
+                out.putString(raw);
+            }
+            if (recurrence != null) {
+                out.putString(recurrence.getSpec());
+            }
+        }
+    }
+
+    /**
+     * Returns the task stored in one payload
+     *
+     * @param in payload positioned at its start
+     */
+    static Task decode(ByteBuffer in) throws IOException {
+        char type = (char) in.get();
+        boolean isDone = in.get() == 1;
+        String desc = getString(in);
+
+        Task task;
+        switch (type) {
+            case 'T':
+                try {
+                    task = new ToDos(desc);
+                } catch (EmptyDescException e) {
+                    throw new IOException(e.getMessage());
+                }
+                break;
+
+            case 'D': {
+                String title = desc.substring(0, (int) getVarLong(in));
+                int mask = in.get();
+                LocalDateTime dateTime = (mask & DEADLINE_DATE_TIME) == 0 ? null
+                        : LocalDateTime.of(LocalDate.ofEpochDay(getVarLong(in)),
+                        LocalTime.ofSecondOfDay(getVarLong(in)));
+                LocalDate date = (mask & DEADLINE_DATE) == 0 ? null : LocalDate.ofEpochDay(getVarLong(in));
+                LocalTime time = (mask & DEADLINE_TIME) == 0 ? null : LocalTime.ofSecondOfDay(getVarLong(in));
+                String raw = (mask & DEADLINE_RAW) == 0 ? null : getString(in);
+                Recurrence recurrence = (mask & DEADLINE_RECURRENCE) == 0 ? null : getRecurrence(in);
+                task = new Deadlines(desc, title, dateTime, date, time, raw, recurrence);
+                break;
+            }
+
+            case 'E': {
+                String title = desc.substring(0, (int) getVarLong(in));
+                int mask = in.get();
+                LocalDate date = (mask & EVENT_DATE) == 0 ? null : LocalDate.ofEpochDay(getVarLong(in));
+                LocalTime start = (mask & EVENT_START) == 0 ? null : LocalTime.ofSecondOfDay(getVarLong(in));
+                LocalTime end = (mask & EVENT_END) == 0 ? null : LocalTime.ofSecondOfDay(getVarLong(in));
+                String raw = (mask & EVENT_RAW) == 0 ? null : getString(in);
+                Recurrence recurrence = (mask & EVENT_RECURRENCE) == 0 ? null : getRecurrence(in);
+                task = new Events(desc, title, date, start, end, raw, recurrence);
+                break;
+            }
+
+            default:
+                throw new IOException("Unknown taskType " + type);
+        }
+        if (isDone) {
+            task.mark();
+        }
+        return task;
+    }
+
+    private static Recurrence getRecurrence(ByteBuffer in) throws IOException {
+        try {
+            return Recurrence.parse(getString(in));
+        } catch (InvalidRecurrenceException e) {
+            throw new IOException(e.getMessage());
+        }
+    }
+
+    private static long readVarLong(InputStream in) throws IOException {
+        long zigzag = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            zigzag |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+    }
+
+    static long getVarLong(ByteBuffer in) {
+        long zigzag = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.get();
+            zigzag |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+    }
+
+    private static String getString(ByteBuffer in) {
+        int length = (int) getVarLong(in);
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Growable byte array that payloads and frames are built in
+     */
+    static class Bytes {
+        private byte[] data = new byte[256];
+        private int length;
+
+        void clear() {
+            length = 0;
+        }
+
+        void putByte(int b) {
+            ensure(1);
+            data[length++] = (byte) b;
+        }
+
+        void putInt(int value) {
+            ensure(4);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                data[length++] = (byte) (value >>> shift);
+            }
+        }
+
+        void putLong(long value) {
+            putInt((int) (value >>> 32));
+            putInt((int) value);
+        }
+
+        void putBuffer(ByteBuffer src, int count) {
+            ensure(count);
+            src.get(data, length, count);
+            length += count;
+        }
+
+        void putVarLong(long value) {
+            long zigzag = (value << 1) ^ (value >> 63);
+            ensure(10);
+            while ((zigzag & ~0x7fL) != 0) {
+                data[length++] = (byte) ((zigzag & 0x7f) | 0x80);
+                zigzag >>>= 7;
+            }
+            data[length++] = (byte) zigzag;
+        }
+
+        void putString(String s) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            putVarLong(bytes.length);
+            putBytes(bytes, bytes.length);
+        }
+
+        void putBytes(byte[] bytes) {
+            putBytes(bytes, bytes.length);
+        }
+
+        void putBytes(byte[] bytes, int count) {
+            ensure(count);
+            System.arraycopy(bytes, 0, data, length, count);
+            length += count;
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, length + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package Data;
+
+import Tasks.Deadlines;
+import Tasks.Events;
+import Tasks.Task;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Sorted index from the date a deadline or event falls on to the ids of those tasks.
+ * Tasks without a date, todos and time-only deadlines, are not indexed.
+ * Tasks that repeat are kept once, apart from the dates, and only the occurrences
+ * falling in the dates a query asks about are worked out.
+ */
+class DateIndex implements TaskIndex {
+    private final NavigableMap<LocalDate, IdList> byDate = new TreeMap<>();
+
+    //tasks that repeat, by id
+    private final NavigableMap<Integer, Task> repeating = new TreeMap<>();
+
+    @Override
+    public void add(int id, Task task) {
+        LocalDate date = dateOf(task);
+        if (date != null && task.getRecurrence() != null) {
+            repeating.put(id, task);
+        } else if (date != null) {
+            byDate.computeIfAbsent(date, d -> new IdList(1)).add(id);
+        }
+    }
+
+    @Override
+    public void remove(int id, Task task) {
+        if (task.getRecurrence() != null) {
+            repeating.remove(id);
+            return;
+        }
+        LocalDate date = dateOf(task);
+        IdList ids = date == null ? null : byDate.get(date);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.size() == 0) {
+                byDate.remove(date);
+            }
+        }
+    }
+
+    /**
+     * Returns the dates between from and to, both included, that tasks fall on,
+     * each with the sorted ids of its tasks. A repeating task is on every date it occurs.
+     *
+     * @param from first date of the range
+     * @param to last date of the range
+     */
+    NavigableMap<LocalDate, int[]> between(LocalDate from, LocalDate to) {
+        NavigableMap<LocalDate, int[]> days = new TreeMap<>();
+        for (Map.Entry<LocalDate, IdList> entry : byDate.subMap(from, true, to, true).entrySet()) {
+            days.put(entry.getKey(), entry.getValue().toArray());
+        }
+        if (repeating.isEmpty()) {
+            return days;
+        }
+
+        NavigableMap<LocalDate, IdList> occurrences = new TreeMap<>();
+        for (Map.Entry<Integer, Task> entry : repeating.entrySet()) {
+            Task task = entry.getValue();
+            for (LocalDate date : task.getRecurrence().between(dateOf(task), from, to)) {
+                occurrences.computeIfAbsent(date, d -> new IdList(1)).add(entry.getKey());
+            }
+        }
+        for (Map.Entry<LocalDate, IdList> entry : occurrences.entrySet()) {
+            int[] ids = entry.getValue().toArray();
+            days.merge(entry.getKey(), ids, DateIndex::mergeSorted);
+        }
+        return days;
+    }
+
+    /**
+     * Returns the dates from date onwards, each with the sorted ids of its tasks,
+     * leaving out repeating tasks, which are found through repeatingIds
+     *
+     * @param date first date to include
+     */
+    NavigableMap<LocalDate, IdList> from(LocalDate date) {
+        return byDate.tailMap(date, true);
+    }
+
+    /**
+     * Returns the sorted ids of the repeating tasks
+     */
+    int[] repeatingIds() {
+        return repeating.keySet().stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Returns the number of distinct dates indexed
+     */
+    int size() {
+        return byDate.size();
+    }
+
+    /**
+     * Returns a rough count of the bytes held by the index
+     */
+    long memoryEstimate() {
+        long bytes = 0;
+        for (IdList ids : byDate.values()) {
+            // tree entry and date key, plus the id list
+            bytes += 40 + 24 + ids.memoryEstimate();
+        }
+        // tree entry and boxed id of each repeating task
+        return bytes + 56L * repeating.size();
+    }
+
+    /**
+     * Returns the date a deadline or event falls on, or null for other tasks
+     *
+     * @param task task to check
+     */
+    static LocalDate dateOf(Task task) {
+        if (task instanceof Deadlines) {
+            return ((Deadlines) task).getLocalDate();
+        } else if (task instanceof Events) {
+            return ((Events) task).getLocalDate();
+        }
+        return null;
+    }
+
+    private static int[] mergeSorted(int[] first, int[] second) {
+        int[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        Arrays.sort(result);
+        return result;
+    }
+}
@@ -0,0 +1,453 @@
+package Data;
+
+import Tasks.Events;
+import Tasks.Task;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Interval tree over the events with a date, start time and end time.
+ * Each event is an interval of minutes from its start to its end, and events clash
+ * when their intervals overlap, so an event ending at 17:00 does not clash with one
+ * starting at 17:00. The tree is a treap ordered by start and id, where every node also
+ * keeps the latest end in its subtree, so finding the k events overlapping an interval
+ * takes O(log n + k) instead of a scan over every event.
+ *
+ * Events that repeat are kept apart from the tree, once each, and their occurrences are
+ * only worked out for the dates a query covers. When a query has no last date, events
+ * repeating forever are followed for a year past the last event that happens once.
+ */
+class EventIntervalIndex implements TaskIndex {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    //days an event repeating forever is followed past the last one-off event
+    private static final int HORIZON_DAYS = 366;
+
+    private static final Comparator<Node> START_ORDER = Comparator.<Node>comparingLong(node -> node.start)
+            .thenComparingInt(node -> node.id);
+
+    private static class Node {
+        final long start;
+        final long end;
+        final int id;
+        final int priority;
+        long maxEnd;
+        Node left;
+        Node right;
+
+        Node(long start, long end, int id) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.priority = priorityOf(id);
+            this.maxEnd = end;
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    //events that repeat, by id
+    private final NavigableMap<Integer, Events> repeating = new TreeMap<>();
+
+    @Override
+    public void add(int id, Task task) {
+        long[] interval = intervalOf(task);
+        if (interval != null && task.getRecurrence() != null) {
+            repeating.put(id, (Events) task);
+        } else if (interval != null) {
+            root = insert(root, new Node(interval[0], interval[1], id));
+            size++;
+        }
+    }
+
+    @Override
+    public void remove(int id, Task task) {
+        long[] interval = intervalOf(task);
+        if (interval != null && task.getRecurrence() != null) {
+            repeating.remove(id);
+        } else if (interval != null) {
+            int before = size;
+            root = delete(root, interval[0], id);
+            assert size == before - 1 : "Event was not indexed";
+        }
+    }
+
+    /**
+     * Returns the sorted ids of events overlapping the interval of task, other than the task itself.
+     * Every occurrence of an event that repeats is checked, and clashes with it too.
+     *
+     * @param id id of task, left out of the result
+     * @param task event to check, nothing clashes with tasks that are not timed events
+     */
+    int[] clashesWith(int id, Task task) {
+        long[] interval = intervalOf(task);
+        if (interval == null) {
+            return new int[0];
+        }
+        if (task.getRecurrence() == null && repeating.isEmpty()) {
+            IdList ids = new IdList(4);
+            collectOverlaps(root, interval[0], interval[1], id, ids);
+            return ids.toArray();
+        }
+
+        TreeSet<Integer> ids = new TreeSet<>();
+        Events event = (Events) task;
+        LocalDate first = event.getLocalDate();
+        for (Node occurrence : occurrencesOf(event, id, first, lastDayOf(event))) {
+            IdList overlaps = new IdList(4);
+            collectOverlaps(root, occurrence.start, occurrence.end, id, overlaps);
+            for (int i = 0; i < overlaps.size(); i++) {
+                ids.add(overlaps.get(i));
+            }
+            // events are within a day, so only occurrences on the same day can overlap
+            LocalDate day = LocalDate.ofEpochDay(Math.floorDiv(occurrence.start, MINUTES_PER_DAY));
+            for (Map.Entry<Integer, Events> entry : repeating.entrySet()) {
+                if (entry.getKey() == id || ids.contains(entry.getKey())) {
+                    continue;
+                }
+                for (Node other : occurrencesOf(entry.getValue(), entry.getKey(), day, day)) {
+                    if (overlaps(other, occurrence.start, occurrence.end)) {
+                        ids.add(entry.getKey());
+                    }
+                }
+            }
+        }
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Returns every pair of clashing events starting between from and to, both included,
+     * ordered by the start of the first event of each pair.
+     * Sweeps the events in start order, so the pairs are found in O(n log n + k).
+     * An event that repeats is paired once for every occurrence that clashes.
+     *
+     * @param from first date to include, or null for no lower limit
+     * @param to last date to include, or null for no upper limit
+     * @return pairs of ids, the first event starting no later than the second,
+     *         each followed by the epoch day the two clash on
+     */
+    List<int[]> clashingPairs(LocalDate from, LocalDate to) {
+        long low = from == null ? Long.MIN_VALUE : from.toEpochDay() * MINUTES_PER_DAY;
+        long high = to == null ? Long.MAX_VALUE : (to.toEpochDay() + 1) * MINUTES_PER_DAY;
+        List<Node> events = new ArrayList<>();
+        collectStarts(root, low, high, events);
+        events = withOccurrences(events, from, to);
+
+        List<int[]> pairs = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            Node first = events.get(i);
+            int day = (int) Math.floorDiv(first.start, MINUTES_PER_DAY);
+            for (int j = i + 1; j < events.size() && events.get(j).start < first.end; j++) {
+                Node second = events.get(j);
+                if (overlaps(first, second.start, second.end) && first.id != second.id) {
+                    pairs.add(new int[] {first.id, second.id, day});
+                }
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Returns the free windows of at least minutes between events, on every day from from to to.
+     * Reads the events of the range in start order from the tree, so days without events cost
+     * nothing but their one window and the rest of the list is never scanned.
+     *
+     * @param from first date to include
+     * @param to last date to include
+     * @param minutes shortest window to return
+     * @return start and end of every window in minutes since the epoch, in order
+     */
+    List<long[]> freeWindows(LocalDate from, LocalDate to, int minutes) {
+        long low = from.toEpochDay() * MINUTES_PER_DAY;
+        long high = (to.toEpochDay() + 1) * MINUTES_PER_DAY;
+        List<Node> events = new ArrayList<>();
+        collectStarts(root, low, high, events);
+        events = withOccurrences(events, from, to);
+
+        List<long[]> windows = new ArrayList<>();
+        long free = low;
+        long dayEnd = low + MINUTES_PER_DAY;
+        for (Node event : events) {
+            if (event.start == event.end) {
+                // an event taking no time leaves the time around it free
+                continue;
+            }
+            while (event.start >= dayEnd) {
+                addWindow(windows, free, dayEnd, minutes);
+                free = dayEnd;
+                dayEnd += MINUTES_PER_DAY;
+            }
+            addWindow(windows, free, event.start, minutes);
+            free = Math.max(free, event.end);
+        }
+        while (dayEnd <= high) {
+            addWindow(windows, free, dayEnd, minutes);
+            free = dayEnd;
+            dayEnd += MINUTES_PER_DAY;
+        }
+        return windows;
+    }
+
+    private static void addWindow(List<long[]> windows, long start, long end, int minutes) {
+        if (end - start >= minutes) {
+            windows.add(new long[] {start, end});
+        }
+    }
+
+    /**
+     * Merges the occurrences of repeating events between from and to into events,
+     * which are in start order, keeping that order
+     *
+     * @param events events that happen once, in start order
+     * @param from first date to include, or null for no lower limit
+     * @param to last date to include, or null to follow each event to its last day
+     */
+    private List<Node> withOccurrences(List<Node> events, LocalDate from, LocalDate to) {
+        if (repeating.isEmpty()) {
+            return events;
+        }
+        List<Node> occurrences = new ArrayList<>();
+        for (Map.Entry<Integer, Events> entry : repeating.entrySet()) {
+            Events event = entry.getValue();
+            occurrences.addAll(occurrencesOf(event, entry.getKey(),
+                    from == null ? event.getLocalDate() : from, to == null ? lastDayOf(event) : to));
+        }
+        occurrences.sort(START_ORDER);
+
+        List<Node> merged = new ArrayList<>(events.size() + occurrences.size());
+        int i = 0;
+        int j = 0;
+        while (i < events.size() || j < occurrences.size()) {
+            if (j == occurrences.size()
+                    || (i < events.size() && START_ORDER.compare(events.get(i), occurrences.get(j)) <= 0)) {
+                merged.add(events.get(i++));
+            } else {
+                merged.add(occurrences.get(j++));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Returns the occurrences of event between from and to, both included, in start order
+     *
+     * @param event timed event, repeating or not
+     * @param id id of event
+     * @param from first date to include
+     * @param to last date to include
+     */
+    private static List<Node> occurrencesOf(Events event, int id, LocalDate from, LocalDate to) {
+        long[] interval = intervalOf(event);
+        LocalDate first = event.getLocalDate();
+        List<Node> occurrences = new ArrayList<>();
+        if (event.getRecurrence() == null) {
+            if (!first.isBefore(from) && !first.isAfter(to)) {
+                occurrences.add(new Node(interval[0], interval[1], id));
+            }
+            return occurrences;
+        }
+        for (LocalDate date : event.getRecurrence().between(first, from, to)) {
+            long shift = (date.toEpochDay() - first.toEpochDay()) * MINUTES_PER_DAY;
+            occurrences.add(new Node(interval[0] + shift, interval[1] + shift, id));
+        }
+        return occurrences;
+    }
+
+    /**
+     * Returns the last day event happens on, or for an event repeating forever,
+     * the day a year past the later of its first day and the last one-off event
+     */
+    private LocalDate lastDayOf(Events event) {
+        LocalDate first = event.getLocalDate();
+        if (event.getRecurrence() == null) {
+            return first;
+        }
+        LocalDate last = event.getRecurrence().last(first);
+        if (last != null) {
+            return last;
+        }
+        long lastDay = first.toEpochDay();
+        if (root != null) {
+            lastDay = Math.max(lastDay, Math.floorDiv(root.maxEnd, MINUTES_PER_DAY));
+        }
+        return LocalDate.ofEpochDay(lastDay + HORIZON_DAYS);
+    }
+
+    /**
+     * Returns the number of events indexed, counting an event that repeats once
+     */
+    int size() {
+        return size + repeating.size();
+    }
+
+    /**
+     * Returns a rough count of the bytes held by the index
+     */
+    long memoryEstimate() {
+        return 56L * size + 56L * repeating.size();
+    }
+
+    /**
+     * Returns the start and end of an event in minutes since the epoch,
+     * or null if the task is not an event with a date and valid times
+     *
+     * @param task task to check
+     */
+    static long[] intervalOf(Task task) {
+        if (!(task instanceof Events)) {
+            return null;
+        }
+        Events event = (Events) task;
+        LocalDate date = event.getLocalDate();
+        LocalTime startTime = event.getLocalStartTime();
+        LocalTime endTime = event.getLocalEndTime();
+        if (date == null || startTime == null || endTime == null || endTime.isBefore(startTime)) {
+            return null;
+        }
+        long day = date.toEpochDay() * MINUTES_PER_DAY;
+        return new long[] {day + startTime.toSecondOfDay() / 60, day + endTime.toSecondOfDay() / 60};
+    }
+
+    private static boolean overlaps(Node node, long start, long end) {
+        return node.start < end && start < node.end;
+    }
+
+    private static void collectOverlaps(Node node, long start, long end, int excludedId, IdList ids) {
+        // no interval in this subtree ends after start
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        collectOverlaps(node.left, start, end, excludedId, ids);
+        if (overlaps(node, start, end) && node.id != excludedId) {
+            ids.add(node.id);
+        }
+        // everything to the right starts at or after this node
+        if (node.start < end) {
+            collectOverlaps(node.right, start, end, excludedId, ids);
+        }
+    }
+
+    private static void collectStarts(Node node, long low, long high, List<Node> result) {
+        if (node == null) {
+            return;
+        }
+        if (node.start >= low) {
+            collectStarts(node.left, low, high, result);
+        }
+        if (node.start >= low && node.start < high) {
+            result.add(node);
+        }
+        if (node.start < high) {
+            collectStarts(node.right, low, high, result);
+        }
+    }
+
+    private static boolean isBefore(long start, int id, Node node) {
+        return start < node.start || (start == node.start && id < node.id);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (isBefore(added.start, added.id, node)) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node delete(Node node, long start, int id) {
+        if (node == null) {
+            return null;
+        }
+        if (node.start == start && node.id == id) {
+            size--;
+            return merge(node.left, node.right);
+        }
+        if (isBefore(start, id, node)) {
+            node.left = delete(node.left, start, id);
+        } else {
+            node.right = delete(node.right, start, id);
+        }
+        update(node);
+        return node;
+    }
+
+    /**
+     * Joins two treaps where every node of left comes before every node of right
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node top = node.left;
+        node.left = top.right;
+        top.right = node;
+        update(node);
+        update(top);
+        return top;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node top = node.right;
+        node.right = top.left;
+        top.left = node;
+        update(node);
+        update(top);
+        return top;
+    }
+
+    private static void update(Node node) {
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    /**
+     * Returns a well mixed priority for id, so the treap stays balanced
+     * without depending on a random number generator
+     */
+    private static int priorityOf(int id) {
+        int hash = id * 0x9E3779B9;
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        return hash ^ (hash >>> 13);
+    }
+}
@@ -0,0 +1,432 @@
+package Data;
+
+import Exceptions.EmptyDescException;
+import Tasks.Task;
+import Tasks.ToDos;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import java.util.zip.CRC32;
+
+/**
+ * Task list backed by a binary snapshot file that stays open for reading.
+ * Opening it only reads the header and the offset table at the end of the file;
+ * a record is read with a positional read and decoded the first time get reaches it,
+ * so startup time and heap use grow with the tasks a session touches instead of with
+ * the file size. Tasks added after loading are held in memory like in an ArrayList.
+ *
+ * The checksum of a record is checked when it is first read. The tasks after a damaged
+ * record are already numbered by then, so instead of being cut off like in the other
+ * readers it is shown as a todo saying it is damaged.
+ *
+ * The file is read through a channel rather than memory-mapped, since Windows does not
+ * allow a newer snapshot to be renamed over a mapped file. An open channel does not stop
+ * the rename, and keeps reading the old snapshot after it.
+ */
+public class FileTaskList extends AbstractList<Task> implements RandomAccess {
+    // bytes read at once for a record, enough for most tasks in one read
+    private static final int READ_AHEAD = 256;
+
+    // bytes of the offset table read at once
+    private static final int TABLE_CHUNK = 64 * 1024;
+
+    // magic, version and seq, varints of at most 10 bytes
+    private static final int HEADER_SIZE = 24;
+
+    private static final String DAMAGED_DESC = "damaged task, it could not be read from the snapshot";
+
+    private final FileChannel channel;
+    private final long seq;
+
+    // end of the records, a record reaching past it is damaged
+    private final long recordsEnd;
+
+    // frame offset of every task in the file, -1 for tasks added after loading
+    private long[] offsets;
+
+    // decoded tasks, null until first reached
+    private Task[] tasks;
+    private int size;
+
+    private FileTaskList(FileChannel channel, long seq, long recordsEnd, long[] offsets, Task[] tasks, int size) {
+        this.channel = channel;
+        this.seq = seq;
+        this.recordsEnd = recordsEnd;
+        this.offsets = offsets;
+        this.tasks = tasks;
+        this.size = size;
+    }
+
+    /**
+     * Opens the snapshot at path and reads its offset table
+     *
+     * @param path binary snapshot to open
+     * @return the list, or null if the file has no usable offset table
+     */
+    public static FileTaskList open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            FileTaskList list = open(channel);
+            if (list == null) {
+                channel.close();
+            }
+            return list;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static FileTaskList open(FileChannel channel) throws IOException {
+        long fileSize = channel.size();
+        if (fileSize < BinarySnapshot.TRAILER_SIZE) {
+            return null;
+        }
+
+        ByteBuffer trailer = read(channel, fileSize - BinarySnapshot.TRAILER_SIZE, BinarySnapshot.TRAILER_SIZE);
+        long tablePosition = trailer.getLong();
+        byte[] magic = new byte[BinarySnapshot.INDEX_MAGIC.length];
+        trailer.get(magic);
+        if (!Arrays.equals(magic, BinarySnapshot.INDEX_MAGIC)) {
+            return null;
+        }
+
+        long tableSize = fileSize - BinarySnapshot.TRAILER_SIZE - tablePosition;
+        if (tablePosition < 0 || tableSize < 0 || tableSize % 8 != 0 || tableSize / 8 > Integer.MAX_VALUE - 8) {
+            return null;
+        }
+
+        ByteBuffer header = read(channel, 0, (int) Math.min(HEADER_SIZE, tablePosition));
+        header.position(4);
+        BinarySnapshot.getVarLong(header);
+        long seq = BinarySnapshot.getVarLong(header);
+        long recordsStart = header.position();
+
+        int count = (int) (tableSize / 8);
+        long[] offsets = new long[Math.max(count, 10)];
+        ByteBuffer chunk = ByteBuffer.allocate(TABLE_CHUNK);
+        int good = 0;
+        long position = tablePosition;
+        long previous = recordsStart - 1;
+        while (good < count) {
+            chunk.clear();
+            chunk.limit((int) Math.min(chunk.capacity(), (count - good) * 8L));
+            readFully(channel, chunk, position);
+            position += chunk.limit();
+            chunk.flip();
+            while (chunk.hasRemaining()) {
+                long offset = chunk.getLong();
+                if (offset <= previous || offset >= tablePosition) {
+                    // a damaged table, keep the records before the first bad offset
+                    System.out.println("Snapshot damaged, recovered first " + good + " tasks");
+                    return new FileTaskList(channel, seq, tablePosition, offsets, new Task[offsets.length], good);
+                }
+                offsets[good++] = offset;
+                previous = offset;
+            }
+        }
+
+        return new FileTaskList(channel, seq, tablePosition, offsets, new Task[offsets.length], count);
+    }
+
+    //getter
+    public long getSeq() {
+        return seq;
+    }
+
+    /**
+     * Returns a copy sharing the file, with its own copy of every task decoded so far,
+     * for a snapshot writer on another thread that must not see later changes.
+     * Tasks never decoded are read from the file, which does not change.
+     */
+    public FileTaskList copy() {
+        Task[] copies = new Task[tasks.length];
+        for (int i = 0; i < size; i++) {
+            if (tasks[i] != null) {
+                copies[i] = tasks[i].copy();
+            }
+        }
+        return new FileTaskList(channel, seq, recordsEnd, offsets.clone(), copies, size);
+    }
+
+    @Override
+    public Task get(int i) {
+        checkIndex(i);
+        if (tasks[i] == null) {
+            tasks[i] = materialize(i);
+        }
+        return tasks[i];
+    }
+
+    @Override
+    public Task set(int i, Task task) {
+        Task old = get(i);
+        tasks[i] = task;
+        return old;
+    }
+
+    @Override
+    public void add(int i, Task task) {
+        if (i < 0 || i > size) {
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+        }
+        if (size == offsets.length) {
+            int capacity = offsets.length + (offsets.length >> 1);
+            offsets = Arrays.copyOf(offsets, capacity);
+            tasks = Arrays.copyOf(tasks, capacity);
+        }
+        System.arraycopy(offsets, i, offsets, i + 1, size - i);
+        System.arraycopy(tasks, i, tasks, i + 1, size - i);
+        offsets[i] = -1;
+        tasks[i] = task;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int i) {
+        Task old = get(i);
+        System.arraycopy(offsets, i + 1, offsets, i, size - i - 1);
+        System.arraycopy(tasks, i + 1, tasks, i, size - i - 1);
+        size--;
+        tasks[size] = null;
+        modCount++;
+        return old;
+    }
+
+    /**
+     * Removes the tasks at the positions in one pass, without decoding them
+     *
+     * @param positions sorted distinct positions
+     */
+    void removePositions(int[] positions) {
+        int kept = 0;
+        int next = 0;
+        for (int i = 0; i < size; i++) {
+            if (next < positions.length && positions[next] == i) {
+                next++;
+            } else {
+                offsets[kept] = offsets[i];
+                tasks[kept] = tasks[i];
+                kept++;
+            }
+        }
+        Arrays.fill(tasks, kept, size, null);
+        size = kept;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the position of a task equal to o, comparing the stored bytes of
+     * tasks that were never decoded so the search does not decode them
+     *
+     * @param o task to look for
+     */
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof Task)) {
+            return -1;
+        }
+        Task target = (Task) o;
+        for (int i = 0; i < size; i++) {
+            if (isEqualAt(i, target)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Returns true if task i equals target, comparing its stored type and desc
+     * if it was never decoded
+     *
+     * @param i position of task
+     * @param target task to compare with
+     */
+    boolean isEqualAt(int i, Task target) {
+        checkIndex(i);
+        if (tasks[i] != null) {
+            return tasks[i].equals(target);
+        }
+        ByteBuffer frame = readFrame(i);
+        if (frame == null) {
+            return get(i).equals(target);
+        }
+        ByteBuffer payload = payloadOf(frame);
+        return payload.get() == (byte) Storage.taskType(target)
+                && getDesc(payload).equals(target.getTaskDesc());
+    }
+
+    /**
+     * Returns the hash code of task i, reading only its stored desc if it was never decoded
+     *
+     * @param i position of task
+     */
+    int hashCodeAt(int i) {
+        return descAt(i).hashCode();
+    }
+
+    /**
+     * Returns the desc of task i, reading only its stored desc if it was never decoded
+     *
+     * @param i position of task
+     */
+    String descAt(int i) {
+        checkIndex(i);
+        if (tasks[i] != null) {
+            return tasks[i].getTaskDesc();
+        }
+        ByteBuffer frame = readFrame(i);
+        if (frame == null) {
+            return get(i).getTaskDesc();
+        }
+        ByteBuffer payload = payloadOf(frame);
+        payload.get();
+        return getDesc(payload);
+    }
+
+    /**
+     * Returns true if task i has been decoded, otherwise its stored bytes are current
+     *
+     * @param i position of task
+     */
+    boolean isMaterialized(int i) {
+        checkIndex(i);
+        return tasks[i] != null;
+    }
+
+    /**
+     * Appends the stored frame of task i, length, crc and payload, to out
+     *
+     * @param i position of a task that was never decoded
+     * @param out buffer to append to
+     * @return false, leaving out unchanged, if the stored record is damaged
+     */
+    boolean copyFrame(int i, BinarySnapshot.Bytes out) {
+        ByteBuffer frame = readFrame(i);
+        if (frame == null) {
+            return false;
+        }
+        out.putBuffer(frame, frame.remaining());
+        return true;
+    }
+
+    private Task materialize(int i) {
+        ByteBuffer frame = readFrame(i);
+        if (frame != null) {
+            try {
+                return BinarySnapshot.decode(payloadOf(frame));
+            } catch (IOException | RuntimeException e) {
+                // the checksum matched but the payload still does not decode
+            }
+        }
+        System.out.println("Snapshot damaged, task " + (i + 1) + " could not be read");
+        try {
+            return new ToDos(DAMAGED_DESC);
+        } catch (EmptyDescException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Reads the whole frame of task i and checks its checksum
+     *
+     * @param i position of a task that was never decoded
+     * @return the frame from its length to the end of its payload, or null if it is damaged
+     */
+    private ByteBuffer readFrame(int i) {
+        long position = offsets[i];
+        try {
+            ByteBuffer frame = read(channel, position, (int) Math.min(READ_AHEAD, recordsEnd - position));
+            long length = BinarySnapshot.getVarLong(frame);
+            int headerLength = frame.position() + 4;
+            if (length <= 0 || length > recordsEnd - position - headerLength) {
+                return null;
+            }
+            int frameLength = headerLength + (int) length;
+            if (frameLength > frame.limit()) {
+                // longer than the read ahead, read the rest of it
+                ByteBuffer whole = ByteBuffer.allocate(frameLength);
+                frame.rewind();
+                whole.put(frame);
+                readFully(channel, whole, position + whole.position());
+                frame = whole;
+            }
+            frame.limit(frameLength);
+            frame.position(headerLength - 4);
+            int storedCrc = frame.getInt();
+            CRC32 crc = new CRC32();
+            crc.update(frame.duplicate());
+            if ((int) crc.getValue() != storedCrc) {
+                return null;
+            }
+            frame.position(0);
+            return frame;
+        } catch (BufferUnderflowException e) {
+            // a damaged length ran past the bytes read
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ByteBuffer payloadOf(ByteBuffer frame) {
+        ByteBuffer payload = frame.duplicate();
+        BinarySnapshot.getVarLong(payload);
+        payload.getInt();
+        return payload;
+    }
+
+    /**
+     * Reads the status and desc of a payload positioned after its type
+     */
+    private static String getDesc(ByteBuffer payload) {
+        payload.get();
+        byte[] desc = new byte[(int) BinarySnapshot.getVarLong(payload)];
+        payload.get(desc);
+        return new String(desc, StandardCharsets.UTF_8);
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        readFully(channel, buffer, position);
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Snapshot ends early");
+            }
+            position += read;
+        }
+    }
+
+    private void checkIndex(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package Data;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Growable sorted array of int ids.
+ * Used for the id of every position in a StoreList, and for the posting lists of indexes.
+ * Ids are handed out in increasing order, so adding a new id is an append.
+ */
+class IdList {
+    private int[] ids;
+    private int size;
+
+    IdList(int capacity) {
+        ids = new int[Math.max(capacity, 8)];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int i) {
+        return ids[i];
+    }
+
+    /**
+     * Adds id at its sorted place, an append when it is the largest id so far
+     *
+     * @param id id to add
+     */
+    void add(int id) {
+        if (size > 0 && ids[size - 1] > id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                insert(-position - 1, id);
+            }
+            return;
+        }
+        if (size == 0 || ids[size - 1] != id) {
+            insert(size, id);
+        }
+    }
+
+    /**
+     * Removes the id at position i
+     *
+     * @param i position of id
+     */
+    void removeAt(int i) {
+        System.arraycopy(ids, i + 1, ids, i, size - i - 1);
+        size--;
+    }
+
+    /**
+     * Removes the ids at the positions in one pass
+     *
+     * @param positions sorted distinct positions of ids
+     */
+    void removeAll(int[] positions) {
+        int kept = 0;
+        int next = 0;
+        for (int i = 0; i < size; i++) {
+            if (next < positions.length && positions[next] == i) {
+                next++;
+            } else {
+                ids[kept++] = ids[i];
+            }
+        }
+        size = kept;
+    }
+
+    /**
+     * Removes id if present
+     *
+     * @param id id to remove
+     */
+    void remove(int id) {
+        int position = indexOf(id);
+        if (position >= 0) {
+            removeAt(position);
+        }
+    }
+
+    /**
+     * Returns the position of id, or a negative number if it is not present
+     *
+     * @param id id to look for
+     */
+    int indexOf(int id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        return position < 0 ? -1 : position;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * Returns the bytes held by this list, for memory statistics
+     */
+    long memoryEstimate() {
+        return 32 + 16 + 4L * ids.length;
+    }
+
+    /**
+     * Returns the sorted ids present in every list.
+     * Walks the shortest list and looks its ids up in the others.
+     *
+     * @param lists lists to intersect, reordered by size
+     */
+    static int[] intersect(List<IdList> lists) {
+        if (lists.isEmpty()) {
+            return new int[0];
+        }
+        lists.sort(Comparator.comparingInt(IdList::size));
+
+        IdList shortest = lists.get(0);
+        int[] result = new int[shortest.size()];
+        int count = 0;
+        for (int i = 0; i < shortest.size(); i++) {
+            int id = shortest.get(i);
+            boolean isInAll = true;
+            for (int j = 1; j < lists.size() && isInAll; j++) {
+                isInAll = lists.get(j).indexOf(id) >= 0;
+            }
+            if (isInAll) {
+                result[count++] = id;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Returns the sorted ids present in at least one of the arrays
+     *
+     * @param arrays sorted id arrays to merge
+     */
+    static int[] union(List<int[]> arrays) {
+        int total = 0;
+        for (int[] array : arrays) {
+            total += array.length;
+        }
+        int[] result = new int[total];
+        int count = 0;
+        for (int[] array : arrays) {
+            System.arraycopy(array, 0, result, count, array.length);
+            count += array.length;
+        }
+        Arrays.sort(result);
+
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || result[distinct - 1] != result[i]) {
+                result[distinct++] = result[i];
+            }
+        }
+        return Arrays.copyOf(result, distinct);
+    }
+
+    private void insert(int i, int id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length + (ids.length >> 1));
+        }
+        System.arraycopy(ids, i, ids, i + 1, size - i);
+        ids[i] = id;
+        size++;
+    }
+}
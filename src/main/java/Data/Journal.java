@@ -0,0 +1,276 @@
+package Data;
+
+import Tasks.Task;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * Append-only write-ahead journal of task list mutations.
+ * Every add, mark, unmark, delete and update appends one small record instead of
+ * rewriting the whole snapshot file. Records carry a sequence number so that
+ * replaying on top of a snapshot can skip records the snapshot already contains.
+ * Records are numbered on the caller's thread and written behind it by a
+ * PersistenceService, which syncs the file once per batch.
+ *
+ * Record format (one per line): seq|op|args
+ *   A|type|status|desc     add task at end of list
+ *   M|nums / U|nums / D|nums  mark, unmark or delete task numbers nums (1-based),
+ *                          one number or a list like 3,7,9-20 from a bulk command
+ *   R|num|type|status|desc replace task number num with its updated form
+ */
+public class Journal {
+    public static final String OLD_SUFFIX = ".old";
+
+    private final File file;
+    private final PersistenceService service;
+
+    // only used on the writer thread
+    private FileOutputStream out;
+    private BufferedWriter writer;
+
+    // sequence number of the last record appended
+    private long lastSeq;
+
+    // number of records appended since the last rotation was requested
+    private int size;
+
+    /**
+     * Opens the journal at path for appending
+     *
+     * @param path location of journal file
+     * @param lastSeq sequence number of the last record already persisted
+     */
+    public Journal(String path, long lastSeq) throws IOException {
+        this.file = new File(path);
+        this.lastSeq = lastSeq;
+        open();
+        this.service = new PersistenceService("journal-writer", this::sync);
+    }
+
+    public void recordAdd(Task task) {
+        append("A|" + Storage.encodeTask(task));
+    }
+
+    public void recordMark(int num) {
+        append("M|" + num);
+    }
+
+    public void recordUnmark(int num) {
+        append("U|" + num);
+    }
+
+    public void recordDelete(int num) {
+        append("D|" + num);
+    }
+
+    /**
+     * Records a bulk mark, unmark or delete as a single record
+     *
+     * @param nums task numbers in the form 3,7,9-20
+     */
+    public void recordMark(String nums) {
+        append("M|" + nums);
+    }
+
+    public void recordUnmark(String nums) {
+        append("U|" + nums);
+    }
+
+    public void recordDelete(String nums) {
+        append("D|" + nums);
+    }
+
+    public void recordUpdate(int num, Task task) {
+        append("R|" + num + "|" + Storage.encodeTask(task));
+    }
+
+    /**
+     * Numbers one record and queues it to be written
+     *
+     * @param body record without its sequence number
+     */
+    private synchronized void append(String body) {
+        lastSeq++;
+        size++;
+        String line = lastSeq + "|" + body;
+        service.submit(() -> writeLine(line));
+    }
+
+    //getter
+    public synchronized int getSize() {
+        return size;
+    }
+
+    //getter
+    public synchronized long getLastSeq() {
+        return lastSeq;
+    }
+
+    /**
+     * Blocks until every record appended so far is on disk
+     */
+    public void flush() {
+        service.flush();
+    }
+
+    /**
+     * Queues a rotation behind the records appended so far. Once the current file
+     * has been moved aside, onRotated is run on the writer thread; it is skipped if a
+     * previously rotated file has not been compacted yet.
+     *
+     * @param onRotated action folding the rotated file into a snapshot
+     */
+    public void rotateAsync(Runnable onRotated) {
+        synchronized (this) {
+            size = 0;
+        }
+        service.submit(() -> {
+            try {
+                if (rotate()) {
+                    onRotated.run();
+                }
+            } catch (IOException e) {
+                System.out.println("Error rotating journal" + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Flushes outstanding records and closes the underlying file
+     */
+    public void close() {
+        // the last batch is synced before the writer thread stops, only then is the file closed
+        service.close();
+        try {
+            writer.close();
+        } catch (IOException e) {
+            System.out.println("Error closing journal" + e.getMessage());
+        }
+    }
+
+    private void open() throws IOException {
+        out = new FileOutputStream(file, true);
+        writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    private void writeLine(String line) {
+        try {
+            writer.write(line);
+            writer.newLine();
+        } catch (IOException e) {
+            System.out.println("Error writing journal" + e.getMessage());
+        }
+    }
+
+    /**
+     * Forces the records written in this batch to disk
+     */
+    private void sync() {
+        try {
+            writer.flush();
+            out.getFD().sync();
+        } catch (IOException e) {
+            System.out.println("Error writing journal" + e.getMessage());
+        }
+    }
+
+    /**
+     * Moves the current journal file aside so a snapshot can absorb it,
+     * and starts a new empty journal file.
+     *
+     * @return false if a previous rotated file has not been compacted yet
+     */
+    private boolean rotate() throws IOException {
+        File old = new File(file.getPath() + OLD_SUFFIX);
+        if (old.exists()) {
+            return false;
+        }
+        sync();
+        writer.close();
+        boolean isRenamed = file.renameTo(old);
+        open();
+        if (!isRenamed) {
+            throw new IOException("could not rotate " + file.getPath());
+        }
+        return true;
+    }
+
+    /**
+     * Applies the records in file to items, skipping any at or below afterSeq.
+     * A torn last line from a crash is ignored.
+     *
+     * @param file journal file to replay, may not exist
+     * @param items list to apply records to
+     * @param afterSeq sequence number already contained in items
+     * @return highest sequence number seen
+     */
+    public static long replay(File file, List<Task> items, long afterSeq) throws IOException {
+        long maxSeq = afterSeq;
+        if (!file.exists()) {
+            return maxSeq;
+        }
+
+        try (BufferedReader br = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line = br.readLine();
+            while (line != null) {
+                String[] parts = line.split("\\|", 3);
+                try {
+                    long seq = Long.parseLong(parts[0]);
+                    if (seq > afterSeq) {
+                        apply(parts[1], parts[2], items);
+                    }
+                    maxSeq = Math.max(maxSeq, seq);
+                } catch (Exception e) {
+                    // torn or unreadable record, stop at the last good one
+                    System.out.println("Skipping bad journal record: " + line);
+                    break;
+                }
+                line = br.readLine();
+            }
+        }
+        return maxSeq;
+    }
+
+    private static void apply(String op, String args, List<Task> items) throws Exception {
+        switch (op) {
+            case "A":
+                Task task = Storage.decodeTask(args);
+                if (task == null) {
+                    throw new IOException("Unknown task in journal");
+                }
+                items.add(task);
+                break;
+            case "M":
+                for (int num : TaskNumbers.parse(args)) {
+                    items.get(num - 1).mark();
+                }
+                break;
+            case "U":
+                for (int num : TaskNumbers.parse(args)) {
+                    items.get(num - 1).unMark();
+                }
+                break;
+            case "D":
+                int[] positions = TaskNumbers.parse(args);
+                for (int i = 0; i < positions.length; i++) {
+                    positions[i]--;
+                }
+                Storage.removePositions(items, positions);
+                break;
+            case "R":
+                String[] parts = args.split("\\|", 2);
+                items.set(Integer.parseInt(parts[0]) - 1, Storage.decodeTask(parts[1]));
+                break;
+            default:
+                throw new IOException("Unknown journal op " + op);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package Data;
+
+import Tasks.Task;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index from each word in a task's desc to the sorted ids of the tasks containing it.
+ * Words are compared in lower case, so searching does not depend on capitalisation.
+ * A query only reads the posting lists of its words instead of every task.
+ */
+class KeywordIndex implements TaskIndex {
+    private final HashMap<String, IdList> postings = new HashMap<>();
+
+    @Override
+    public void add(int id, Task task) {
+        add(id, task.getTaskDesc());
+    }
+
+    /**
+     * Adds a task to the index by its desc alone, so a file-backed list need not decode it
+     *
+     * @param id id of task
+     * @param desc desc of task
+     */
+    void add(int id, String desc) {
+        for (String word : words(desc)) {
+            postings.computeIfAbsent(word, w -> new IdList(1)).add(id);
+        }
+    }
+
+    @Override
+    public void remove(int id, Task task) {
+        for (String word : words(task.getTaskDesc())) {
+            IdList ids = postings.get(word);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.size() == 0) {
+                    postings.remove(word);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the sorted ids of tasks containing every one of the words.
+     * Walks the shortest posting list and looks its ids up in the others.
+     *
+     * @param words words to search for
+     */
+    int[] matchAll(String... words) {
+        ArrayList<IdList> lists = new ArrayList<>();
+        for (String word : normalize(words)) {
+            IdList ids = postings.get(word);
+            if (ids == null) {
+                return new int[0];
+            }
+            lists.add(ids);
+        }
+        return IdList.intersect(lists);
+    }
+
+    /**
+     * Returns the sorted ids of tasks containing at least one of the words
+     *
+     * @param words words to search for
+     */
+    int[] matchAny(String... words) {
+        ArrayList<int[]> arrays = new ArrayList<>();
+        for (String word : normalize(words)) {
+            IdList ids = postings.get(word);
+            if (ids != null) {
+                arrays.add(ids.toArray());
+            }
+        }
+        return IdList.union(arrays);
+    }
+
+    /**
+     * Returns the number of distinct words indexed
+     */
+    int size() {
+        return postings.size();
+    }
+
+    /**
+     * Returns a rough count of the bytes held by the index
+     */
+    long memoryEstimate() {
+        long bytes = 0;
+        for (Map.Entry<String, IdList> entry : postings.entrySet()) {
+            // map entry and key string, plus the posting list
+            bytes += 32 + 40 + 2L * entry.getKey().length() + entry.getValue().memoryEstimate();
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the distinct lower case words of text, split at anything but letters and digits
+     *
+     * @param text text to split
+     */
+    static Set<String> words(String text) {
+        Set<String> words = new LinkedHashSet<>();
+        String lowerCase = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lowerCase.length(); i++) {
+            boolean isWordChar = i < lowerCase.length() && Character.isLetterOrDigit(lowerCase.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                words.add(lowerCase.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    private static Set<String> normalize(String... words) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String word : words) {
+            result.addAll(words(word));
+        }
+        return result;
+    }
+}
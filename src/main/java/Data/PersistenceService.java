@@ -0,0 +1,119 @@
+package Data;
+
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Single writer thread that performs disk writes queued by the application thread.
+ * Writes submitted in a burst are drained together and made durable by one call
+ * to the commit action (group commit), so the caller never waits on the disk.
+ * A full queue blocks the caller until the writer catches up.
+ */
+public class PersistenceService {
+    private static final int QUEUE_CAPACITY = 4096;
+
+    private final BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Runnable commit;
+    private final Thread writer;
+
+    /**
+     * Starts the writer thread
+     *
+     * @param name name of the writer thread
+     * @param commit action making everything written so far durable, run once per batch
+     */
+    public PersistenceService(String name, Runnable commit) {
+        this.commit = commit;
+        this.writer = new Thread(this::run, name);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues a write to be run on the writer thread, in submission order
+     *
+     * @param write write to be performed
+     */
+    public void submit(Runnable write) {
+        try {
+            queue.put(write);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Blocks until every write submitted before this call has been committed
+     */
+    public void flush() {
+        if (Thread.currentThread() == writer) {
+            return;
+        }
+
+        Barrier barrier = new Barrier();
+        submit(barrier);
+        try {
+            barrier.latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Flushes outstanding writes and stops the writer thread
+     */
+    public void close() {
+        flush();
+        writer.interrupt();
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        ArrayList<Runnable> batch = new ArrayList<>();
+        ArrayList<Barrier> barriers = new ArrayList<>();
+
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch);
+
+            for (Runnable write : batch) {
+                if (write instanceof Barrier) {
+                    // released only once the batch is committed
+                    barriers.add((Barrier) write);
+                    continue;
+                }
+                try {
+                    write.run();
+                } catch (RuntimeException e) {
+                    System.out.println("Error writing tasks" + e.getMessage());
+                }
+            }
+            commit.run();
+
+            for (Barrier barrier : barriers) {
+                barrier.latch.countDown();
+            }
+            batch.clear();
+            barriers.clear();
+        }
+    }
+
+    private static class Barrier implements Runnable {
+        private final CountDownLatch latch = new CountDownLatch(1);
+
+        @Override
+        public void run() {
+            // handled by the writer loop
+        }
+    }
+}
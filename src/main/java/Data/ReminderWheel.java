@@ -0,0 +1,260 @@
+package Data;
+
+import Tasks.Deadlines;
+import Tasks.Task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel of deadline reminders, one tick per minute.
+ * Level 0 has a slot for each of the next 64 minutes, and every level above has slots
+ * 64 times as wide, so a reminder years away is placed in O(1) and moves down a level
+ * each time its slot comes up. Advancing one tick only reads one slot, however many
+ * reminders are pending, and nothing runs between ticks.
+ *
+ * It is kept up to date like an index: a deadline is scheduled when added and
+ * cancelled when removed, so an update cancels the old reminder and schedules a new one.
+ * Cancelled reminders are only marked and dropped when their slot comes up.
+ * A deadline that repeats only has its next occurrence scheduled, and schedules the one
+ * after when its reminder fires.
+ */
+class ReminderWheel implements TaskIndex {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MINUTES_PER_DAY = 24 * 60;
+
+    private static class Reminder {
+        final int id;
+        final Task task;
+        final long minute;
+        final long dueMinute;
+        boolean isCancelled;
+        Reminder next;
+
+        Reminder(int id, Task task, long minute, long dueMinute) {
+            this.id = id;
+            this.task = task;
+            this.minute = minute;
+            this.dueMinute = dueMinute;
+        }
+    }
+
+    //minutes before a deadline that its reminder fires
+    private final long leadMinutes;
+
+    //first reminder of every slot, linked through next
+    private final Reminder[][] slots = new Reminder[LEVELS][SLOTS];
+
+    //reminders too far away for the top level, placed again each time the top level wraps
+    private Reminder overflow;
+
+    //reminders already due when scheduled, fired on the next advance
+    private Reminder ready;
+
+    private final HashMap<Integer, Reminder> pending = new HashMap<>();
+
+    //last minute advanced to
+    private long current;
+
+    /**
+     * Creates a wheel starting at now
+     *
+     * @param now current time
+     * @param leadMinutes minutes before a deadline that its reminder fires
+     */
+    ReminderWheel(LocalDateTime now, long leadMinutes) {
+        this.current = minuteOf(now);
+        this.leadMinutes = leadMinutes;
+    }
+
+    @Override
+    public void add(int id, Task task) {
+        cancel(id);
+        schedule(id, task, current);
+    }
+
+    /**
+     * Schedules the reminder of the first occurrence of task due after afterMinute,
+     * deadlines already past are too late to remind
+     */
+    private void schedule(int id, Task task, long afterMinute) {
+        LocalDateTime due = dueTimeAfter(task, afterMinute);
+        if (due == null) {
+            return;
+        }
+        long dueMinute = minuteOf(due);
+        Reminder reminder = new Reminder(id, task, dueMinute - leadMinutes, dueMinute);
+        pending.put(id, reminder);
+        if (reminder.minute <= current) {
+            // due soon already, the slot for this minute may have been read
+            reminder.next = ready;
+            ready = reminder;
+        } else {
+            place(reminder);
+        }
+    }
+
+    @Override
+    public void remove(int id, Task task) {
+        cancel(id);
+    }
+
+    /**
+     * Moves the wheel forward to now and returns the deadlines not yet done
+     * whose reminders came up, in the order they fired
+     *
+     * @param now current time
+     * @return the id of each deadline followed by the epoch day it is due on
+     */
+    List<int[]> advance(LocalDateTime now) {
+        List<int[]> order = new ArrayList<>();
+        Reminder due = ready;
+        ready = null;
+        collect(due, order);
+
+        long target = minuteOf(now);
+        while (current < target) {
+            current++;
+            if ((current & SLOT_MASK) == 0) {
+                cascade(1);
+            }
+            int slot = (int) (current & SLOT_MASK);
+            due = slots[0][slot];
+            slots[0][slot] = null;
+            collect(due, order);
+        }
+        return order;
+    }
+
+    /**
+     * Returns the number of reminders still to fire
+     */
+    int size() {
+        return pending.size();
+    }
+
+    /**
+     * Returns the first time a deadline is due after afterMinute, going through the
+     * occurrences of a deadline that repeats, or null if there is none
+     *
+     * @param task task to check
+     * @param afterMinute minutes since the epoch the deadline has to be due after
+     */
+    static LocalDateTime dueTimeAfter(Task task, long afterMinute) {
+        LocalDateTime first = dueTimeOf(task);
+        if (first == null || task.getRecurrence() == null) {
+            return first == null || minuteOf(first) <= afterMinute ? null : first;
+        }
+        LocalDate firstDate = first.toLocalDate();
+        LocalDate date = task.getRecurrence().nextOnOrAfter(firstDate,
+                LocalDate.ofEpochDay(Math.max(firstDate.toEpochDay(), Math.floorDiv(afterMinute, MINUTES_PER_DAY))));
+        while (date != null) {
+            LocalDateTime due = LocalDateTime.of(date, first.toLocalTime());
+            if (minuteOf(due) > afterMinute) {
+                return due;
+            }
+            date = task.getRecurrence().nextOnOrAfter(firstDate, date.plusDays(1));
+        }
+        return null;
+    }
+
+    /**
+     * Returns the time a deadline is first due, the start of its day if it has no time,
+     * or null for tasks that are not deadlines with a date
+     *
+     * @param task task to check
+     */
+    static LocalDateTime dueTimeOf(Task task) {
+        if (!(task instanceof Deadlines)) {
+            return null;
+        }
+        Deadlines deadline = (Deadlines) task;
+        if (deadline.getLocalDateTime() != null) {
+            return deadline.getLocalDateTime();
+        }
+        LocalDate date = deadline.getLocalDate();
+        return date == null ? null : date.atStartOfDay();
+    }
+
+    private void cancel(int id) {
+        Reminder old = pending.remove(id);
+        if (old != null) {
+            old.isCancelled = true;
+        }
+    }
+
+    /**
+     * Adds the reminders of a slot that are still wanted to order
+     */
+    private void collect(Reminder reminder, List<int[]> order) {
+        for (; reminder != null; reminder = reminder.next) {
+            if (!reminder.isCancelled) {
+                pending.remove(reminder.id);
+                if (!reminder.task.isDone()) {
+                    order.add(new int[] {reminder.id, (int) Math.floorDiv(reminder.dueMinute, MINUTES_PER_DAY)});
+                }
+                if (reminder.task.getRecurrence() != null) {
+                    schedule(reminder.id, reminder.task, Math.max(reminder.dueMinute, current));
+                }
+            }
+        }
+    }
+
+    /**
+     * Puts a reminder in the lowest level whose slots reach its minute, which is not before current
+     */
+    private void place(Reminder reminder) {
+        long delta = reminder.minute - current;
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << (SLOT_BITS * (level + 1))) {
+                int slot = (int) ((reminder.minute >> (SLOT_BITS * level)) & SLOT_MASK);
+                reminder.next = slots[level][slot];
+                slots[level][slot] = reminder;
+                return;
+            }
+        }
+        reminder.next = overflow;
+        overflow = reminder;
+    }
+
+    /**
+     * Empties the slot of level that current has reached and places its reminders again,
+     * after first doing the same for the level above whenever this level wraps around
+     */
+    private void cascade(int level) {
+        int slot = (int) ((current >> (SLOT_BITS * level)) & SLOT_MASK);
+        Reminder reminder = slots[level][slot];
+        slots[level][slot] = null;
+        if (slot == 0) {
+            if (level + 1 < LEVELS) {
+                cascade(level + 1);
+            } else {
+                Reminder far = overflow;
+                overflow = null;
+                placeAll(far);
+            }
+        }
+        placeAll(reminder);
+    }
+
+    private void placeAll(Reminder reminder) {
+        while (reminder != null) {
+            Reminder next = reminder.next;
+            if (!reminder.isCancelled) {
+                place(reminder);
+            }
+            reminder = next;
+        }
+    }
+
+    private static long minuteOf(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+}
@@ -0,0 +1,379 @@
+package Data;
+
+import Tasks.Task;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.zip.CRC32;
+
+/**
+ * Reads and writes the snapshot file.
+ * A snapshot is written to a temp file in one sequential pass, forced to disk and
+ * atomically renamed over the old one, so a crash leaves either the old or the new
+ * snapshot behind. Every record carries a CRC32 and the file ends with a footer,
+ * so a damaged file is detected on load and its last good prefix is recovered.
+ *
+ * Format:
+ *   #2|seq                 header with the last journal seq contained
+ *   type|status|desc|crc   one record per task, crc as 8 hex digits
+ *   #END|count             footer
+ * Files without the #2 header are read as the older unchecked format.
+ * Large files are split into newline-aligned chunks that are parsed in parallel.
+ */
+public class Snapshot {
+    private static final String HEADER = "#2|";
+    private static final String LEGACY_HEADER = "#|";
+    private static final String FOOTER = "#END|";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // files at least this large are parsed in parallel
+    private static final long PARALLEL_THRESHOLD = 1024 * 1024;
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Writes tasks as the new snapshot at path
+     *
+     * @param path snapshot file to replace
+     * @param tasks tasks to be written
+     * @param seq last journal seq the tasks contain
+     */
+    public static void write(Path path, List<Task> tasks, long seq) throws IOException {
+        Path temp = Paths.get(path + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        CRC32 crc = new CRC32();
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            put(channel, buffer, (HEADER + seq + "\n").getBytes(StandardCharsets.US_ASCII));
+
+            for (Task task : tasks) {
+                byte[] desc = task.getTaskDesc().getBytes(StandardCharsets.UTF_8);
+                byte type = (byte) Storage.taskType(task);
+                byte status = (byte) task.getStatusIcon().charAt(0);
+
+                crc.reset();
+                crc.update(type);
+                crc.update('|');
+                crc.update(status);
+                crc.update('|');
+                crc.update(desc);
+
+                ensureSpace(channel, buffer, 4);
+                buffer.put(type).put((byte) '|').put(status).put((byte) '|');
+                put(channel, buffer, desc);
+                ensureSpace(channel, buffer, 10);
+                buffer.put((byte) '|');
+                putHex(buffer, (int) crc.getValue());
+                buffer.put((byte) '\n');
+            }
+
+            put(channel, buffer, (FOOTER + tasks.size() + "\n").getBytes(StandardCharsets.US_ASCII));
+            drain(channel, buffer);
+            channel.force(true);
+        }
+
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory(path);
+    }
+
+    /**
+     * Reads the snapshot at path into tasks.
+     * Stops at the first damaged record and keeps the tasks before it.
+     *
+     * @param path snapshot file to read
+     * @param tasks list to add the stored tasks to
+     * @return last journal seq contained in the snapshot, 0 for files without a header
+     */
+    public static long read(Path path, List<Task> tasks) throws Exception {
+        long fileSize = Files.size(path);
+        if (fileSize >= PARALLEL_THRESHOLD && fileSize <= Integer.MAX_VALUE - 8) {
+            return readParallel(path, tasks, ForkJoinPool.commonPool());
+        }
+
+        long seq = 0;
+        boolean isChecked = false;
+        boolean hasFooter = false;
+
+        try (BufferedReader br = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line = br.readLine();
+
+            // loop runs till file is empty
+            while (line != null) {
+                if (line.startsWith(HEADER)) {
+                    seq = Long.parseLong(line.substring(HEADER.length()));
+                    isChecked = true;
+                } else if (line.startsWith(LEGACY_HEADER)) {
+                    seq = Long.parseLong(line.substring(LEGACY_HEADER.length()));
+                } else if (line.startsWith(FOOTER)) {
+                    int count = Integer.parseInt(line.substring(FOOTER.length()));
+                    hasFooter = count == tasks.size();
+                    break;
+                } else if (!line.isEmpty()) {
+                    String record = isChecked ? verify(line) : line;
+                    if (record == null) {
+                        System.out.println("Snapshot damaged, recovered first " + tasks.size() + " tasks");
+                        return seq;
+                    }
+                    Task task = Storage.decodeTask(record);
+                    if (task != null) {
+                        tasks.add(task);
+                    }
+                }
+                line = br.readLine();
+            }
+        }
+
+        if (isChecked && !hasFooter) {
+            System.out.println("Snapshot incomplete, recovered first " + tasks.size() + " tasks");
+        }
+        return seq;
+    }
+
+    /**
+     * Reads the snapshot at path into tasks, parsing newline-aligned chunks
+     * of the file on pool and adding the results in file order.
+     * Stops at the first damaged record and keeps the tasks before it.
+     *
+     * @param path snapshot file to read, at most 2GB
+     * @param tasks list to add the stored tasks to
+     * @param pool pool the chunks are parsed on
+     * @return last journal seq contained in the snapshot, 0 for files without a header
+     */
+    public static long readParallel(Path path, List<Task> tasks, ForkJoinPool pool) throws Exception {
+        // read rather than mapped, so the file is not held open and can be replaced
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(path));
+
+        long seq = 0;
+        boolean isChecked = false;
+        int start = 0;
+        int firstEnd = lineEnd(data, 0, data.limit());
+        String first = line(data, 0, firstEnd);
+        if (first.startsWith(HEADER)) {
+            seq = Long.parseLong(first.substring(HEADER.length()));
+            isChecked = true;
+            start = Math.min(firstEnd + 1, data.limit());
+        } else if (first.startsWith(LEGACY_HEADER)) {
+            seq = Long.parseLong(first.substring(LEGACY_HEADER.length()));
+            start = Math.min(firstEnd + 1, data.limit());
+        }
+
+        int chunkSize = Math.max(64 * 1024, (data.limit() - start) / (pool.getParallelism() * 4));
+        Chunk chunk;
+        try {
+            chunk = pool.invoke(new ChunkTask(data, start, data.limit(), isChecked, chunkSize));
+        } catch (ChunkException e) {
+            throw (Exception) e.getCause();
+        }
+        tasks.addAll(chunk.tasks);
+
+        if (chunk.isDamaged) {
+            System.out.println("Snapshot damaged, recovered first " + chunk.tasks.size() + " tasks");
+        } else if (isChecked && chunk.footerCount != chunk.tasks.size()) {
+            System.out.println("Snapshot incomplete, recovered first " + chunk.tasks.size() + " tasks");
+        }
+        return seq;
+    }
+
+    /**
+     * Returns the position of the newline ending the line that starts at from, or end
+     */
+    private static int lineEnd(ByteBuffer data, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (data.get(i) == '\n') {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Returns the line between from and end, without a trailing carriage return
+     */
+    private static String line(ByteBuffer data, int from, int end) {
+        if (end > from && data.get(end - 1) == '\r') {
+            end--;
+        }
+        byte[] bytes = new byte[end - from];
+        data.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Tasks parsed from one chunk of a snapshot
+     */
+    private static class Chunk {
+        private final ArrayList<Task> tasks = new ArrayList<>();
+        private boolean isDamaged;
+        private int footerCount = -1;
+
+        // true once the chunk ends in a damaged record or the footer
+        private boolean isEnded() {
+            return isDamaged || footerCount >= 0;
+        }
+    }
+
+    private static class ChunkException extends RuntimeException {
+        private ChunkException(Exception cause) {
+            super(cause);
+        }
+    }
+
+    /**
+     * Parses the lines between start and end, splitting large ranges
+     * in half at a newline and parsing the halves in parallel
+     */
+    private static class ChunkTask extends RecursiveTask<Chunk> {
+        private final ByteBuffer data;
+        private final int start;
+        private final int end;
+        private final boolean isChecked;
+        private final int chunkSize;
+
+        private ChunkTask(ByteBuffer data, int start, int end, boolean isChecked, int chunkSize) {
+            this.data = data;
+            this.start = start;
+            this.end = end;
+            this.isChecked = isChecked;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected Chunk compute() {
+            if (end - start > chunkSize) {
+                int mid = Math.min(lineEnd(data, start + (end - start) / 2, end) + 1, end);
+                if (mid < end) {
+                    ChunkTask left = new ChunkTask(data, start, mid, isChecked, chunkSize);
+                    left.fork();
+                    Chunk right = new ChunkTask(data, mid, end, isChecked, chunkSize).compute();
+                    Chunk result = left.join();
+
+                    // records after a damaged one or the footer are not part of the snapshot
+                    if (!result.isEnded()) {
+                        result.tasks.addAll(right.tasks);
+                        result.isDamaged = right.isDamaged;
+                        result.footerCount = right.footerCount;
+                    }
+                    return result;
+                }
+            }
+
+            try {
+                return parse();
+            } catch (Exception e) {
+                throw new ChunkException(e);
+            }
+        }
+
+        private Chunk parse() throws Exception {
+            Chunk chunk = new Chunk();
+            int from = start;
+            while (from < end) {
+                int to = lineEnd(data, from, end);
+                String line = line(data, from, to);
+                from = to + 1;
+
+                if (line.isEmpty()) {
+                    continue;
+                }
+                if (line.startsWith(FOOTER)) {
+                    chunk.footerCount = Integer.parseInt(line.substring(FOOTER.length()));
+                    break;
+                }
+                String record = isChecked ? verify(line) : line;
+                if (record == null) {
+                    chunk.isDamaged = true;
+                    break;
+                }
+                Task task = Storage.decodeTask(record);
+                if (task != null) {
+                    chunk.tasks.add(task);
+                }
+            }
+            return chunk;
+        }
+    }
+
+    /**
+     * Returns the record without its checksum, or null if the checksum does not match
+     *
+     * @param line stored line of the form type|status|desc|crc
+     */
+    private static String verify(String line) {
+        int split = line.lastIndexOf('|');
+        if (split < 0 || line.length() - split != 9) {
+            return null;
+        }
+
+        String record = line.substring(0, split);
+        CRC32 crc = new CRC32();
+        crc.update(record.getBytes(StandardCharsets.UTF_8));
+        try {
+            long stored = Long.parseLong(line.substring(split + 1), 16);
+            return stored == crc.getValue() ? record : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static void put(FileChannel channel, ByteBuffer buffer, byte[] bytes) throws IOException {
+        put(channel, buffer, bytes, bytes.length);
+    }
+
+    static void put(FileChannel channel, ByteBuffer buffer, byte[] bytes, int count) throws IOException {
+        int offset = 0;
+        while (offset < count) {
+            if (!buffer.hasRemaining()) {
+                drain(channel, buffer);
+            }
+            int length = Math.min(buffer.remaining(), count - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    private static void putHex(ByteBuffer buffer, int value) {
+        for (int shift = 28; shift >= 0; shift -= 4) {
+            buffer.put(HEX[(value >>> shift) & 0xf]);
+        }
+    }
+
+    static void ensureSpace(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain(channel, buffer);
+        }
+    }
+
+    static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Forces the rename itself to disk, where the platform allows opening a directory
+     *
+     * @param path file whose directory entry changed
+     */
+    static void forceDirectory(Path path) {
+        Path dir = path.toAbsolutePath().getParent();
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // not supported on every platform, the rename is still atomic
+        }
+    }
+}
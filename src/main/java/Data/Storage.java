@@ -1,67 +1,62 @@
 package Data;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import Tasks.*;
 import Main.FileUI;
 
 public class Storage {
-    protected static ArrayList<Task> items = new ArrayList<>();
+    protected static List<Task> items = new ArrayList<>();
+
+    // number of journal records after which the snapshot is rewritten
+    private static final int COMPACTION_THRESHOLD = 1000;
+
+    protected static Journal journal;
+
+    // snapshots are written in the binary format unless switched to text
+    private static boolean isBinaryFormat = true;
+
+    // single background thread that folds the journal back into the snapshot
+    private static final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "storage-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     /**
      * loads tasks from file and adds to list
+     * then replays the journal on top of the snapshot
      * Catch all the relevant exceptions when trying to add invalid tasks
      *
      */
-    public static ArrayList<Task> loadTasks() {
+    public static List<Task> loadTasks() {
         FileUI.createFileIfNotPresent();
 
         try {
-            FileReader fr = new FileReader(FileUI.FILE_PATH);
-            BufferedReader br = new BufferedReader(fr);
-            String line = br.readLine();
-
-            // loop runs till file is empty
-            while (line != null) {
-                String[] parts = line.split("\\|");
-                //extract the diff parts of a task
-                String taskType = parts[0];
-                String taskStatus = parts[1];
-                String taskDesc = parts[2];
-
-                Task task = null;
-                switch (taskType) {
-                    case "T":
-                        task = new ToDos(taskDesc);
-                        break;
-
-                    case "D":
-                        task = new Deadlines(taskDesc);
-                        break;
-
-                    case "E":
-                        task = new Events(taskDesc);
-                        break;
-
-                    default:
-                        System.out.println("Unknown taskType");
-                        continue;
-                }
-                if (task != null) {
-                    if (taskStatus.equals("X")) {
-                        task.mark();
-                    }
-                    items.add(task);
-                }
-                line = br.readLine();
+            long snapshotSeq = readSnapshot();
+
+            File oldJournal = new File(FileUI.JOURNAL_PATH + Journal.OLD_SUFFIX);
+            File currentJournal = new File(FileUI.JOURNAL_PATH);
+            long lastSeq = Journal.replay(oldJournal, items, snapshotSeq);
+            lastSeq = Journal.replay(currentJournal, items, lastSeq);
+
+            if (oldJournal.exists()) {
+                // a compaction was interrupted, fold everything into a fresh snapshot now
+                writeSnapshot(items, lastSeq);
+                oldJournal.delete();
+                currentJournal.delete();
             }
-            br.close();
+            journal = new Journal(FileUI.JOURNAL_PATH, lastSeq);
             return items;
         } catch (IOException e) {
-            System.out.println("Error saving tasks" + e.getMessage());
+            System.out.println("Error loading tasks" + e.getMessage());
         } catch (Exception e) {
             System.out.println("Unknown error occurred" + e.getMessage());
         }
@@ -69,6 +64,177 @@ public class Storage {
         return new ArrayList<>();
     }
 
+    /**
+     * Reads the snapshot file into items, picking the format from its header
+     * so files in the older text format keep loading.
+     * Binary snapshots stay open and their tasks are only read and decoded as they are reached.
+     *
+     * @return last journal seq contained in the snapshot
+     */
+    private static long readSnapshot() throws Exception {
+        Path path = Paths.get(FileUI.FILE_PATH);
+        if (BinarySnapshot.isBinary(path)) {
+            FileTaskList stored = FileTaskList.open(path);
+            if (stored != null) {
+                items = stored;
+                return stored.getSeq();
+            }
+            return BinarySnapshot.read(path, items);
+        }
+        return Snapshot.read(path, items);
+    }
+
+    /**
+     * Replaces the snapshot file with tasks in the current format
+     *
+     * @param tasks tasks to be written
+     * @param seq last journal seq the tasks contain
+     */
+    private static void writeSnapshot(List<Task> tasks, long seq) throws IOException {
+        Path path = Paths.get(FileUI.FILE_PATH);
+        if (isBinaryFormat) {
+            BinarySnapshot.write(path, tasks, seq);
+        } else {
+            Snapshot.write(path, tasks, seq);
+        }
+    }
+
+    /**
+     * Chooses the format snapshots are written in, the text format
+     * is slower to load but can be read and edited by hand
+     *
+     * @param isBinary true to write the binary format
+     */
+    public static void setBinaryFormat(boolean isBinary) {
+        isBinaryFormat = isBinary;
+    }
+
+    /**
+     * Returns the task stored in a type|status|desc record
+     * or null if the task type is unknown
+     *
+     * @param record stored form of a task
+     */
+    public static Task decodeTask(String record) throws Exception {
+        String[] parts = record.split("\\|", 3);
+        //extract the diff parts of a task
+        String taskType = parts[0];
+        String taskStatus = parts[1];
+        String taskDesc = parts[2];
+
+        Task task;
+        switch (taskType) {
+            case "T":
+                task = new ToDos(taskDesc);
+                break;
+
+            case "D":
+                task = new Deadlines(taskDesc, true);
+                break;
+
+            case "E":
+                task = new Events(taskDesc, true);
+                break;
+
+            default:
+                System.out.println("Unknown taskType");
+                return null;
+        }
+        if (taskStatus.equals("X")) {
+            task.mark();
+        }
+        return task;
+    }
+
+    /**
+     * Returns the stored type|status|desc form of a task
+     *
+     * @param task task to be stored
+     */
+    public static String encodeTask(Task task) {
+        char taskType = taskType(task);
+        String taskStatus = task.getStatusIcon();
+        String taskDesc = task.getTaskDesc();
+        return taskType + "|" + taskStatus + "|" + taskDesc;
+    }
+
+    /**
+     * Returns the letter a task type is stored as
+     *
+     * @param task task to be stored
+     */
+    public static char taskType(Task task) {
+        return task instanceof ToDos ? 'T'
+                : task instanceof Deadlines ? 'D' : 'E';
+    }
+
+    /**
+     * Removes the tasks at the positions in one pass over the list,
+     * instead of shifting the rest of the list once per task
+     *
+     * @param tasks list to remove from
+     * @param positions sorted distinct 0-based positions
+     */
+    static void removePositions(List<Task> tasks, int[] positions) {
+        if (tasks instanceof FileTaskList) {
+            ((FileTaskList) tasks).removePositions(positions);
+            return;
+        }
+        int kept = 0;
+        int next = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            if (next < positions.length && positions[next] == i) {
+                next++;
+            } else {
+                if (kept != i) {
+                    tasks.set(kept, tasks.get(i));
+                }
+                kept++;
+            }
+        }
+        tasks.subList(kept, tasks.size()).clear();
+    }
+
+    /**
+     * Returns a list of copies of the tasks, that later changes to them do not reach
+     *
+     * @param tasks tasks to copy
+     */
+    static List<Task> copyOf(List<Task> tasks) {
+        List<Task> copies = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            copies.add(task.copy());
+        }
+        return copies;
+    }
+
+    //getter
+    public static Journal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Blocks until every change journaled so far has been written to disk
+     */
+    public static void flush() {
+        if (journal != null) {
+            journal.flush();
+        }
+    }
+
+    /**
+     * Saves the tasks of the store list to file, unless the list has not changed
+     * since the last save or since it was loaded
+     *
+     * @param storeList list to be written into file
+     */
+    public static void saveTasksToFile(StoreList storeList) {
+        if (!storeList.isDirty()) {
+            return;
+        }
+        saveTasksToFile(storeList.getItems());
+        storeList.markSaved();
+    }
 
     /**
      * Saves appropriate task to file
@@ -77,26 +243,52 @@ public class Storage {
      * @param updatedTasks changed list which needs to be overwritten into file
      *
      */
-    public static void saveTasksToFile(ArrayList<Task> updatedTasks) {
+    public static void saveTasksToFile(List<Task> updatedTasks) {
         FileUI.createFileIfNotPresent();
 
         try {
-            FileWriter fw = new FileWriter(FileUI.FILE_PATH);
-
-            for (Task task : updatedTasks) {
-                String taskType = task instanceof ToDos ? "T"
-                        : task instanceof Deadlines ? "D" : "E";
-                String taskStatus = task.getStatusIcon();
-                String taskDesc = task.getTaskDesc();
-                String taskInfo = taskType + "|" + taskStatus + "|" + taskDesc + "\n";
-
-                fw.write(taskInfo);
-            }
-            fw.close();
-
+            writeSnapshot(updatedTasks, journal == null ? 0 : journal.getLastSeq());
         } catch (IOException e) {
             System.out.println("Error saving tasks" + e.getMessage());
         }
     }
 
+    /**
+     * Folds the journal back into the snapshot once enough records have been appended,
+     * only asking the store list for its tasks then, since that compacts its tombstones
+     *
+     * @param storeList list the snapshot is written from
+     */
+    public static void compactIfNeeded(StoreList storeList) {
+        if (journal != null && journal.getSize() >= COMPACTION_THRESHOLD) {
+            compactIfNeeded(storeList.getItems());
+        }
+    }
+
+    /**
+     * Folds the journal back into the snapshot on a background thread
+     * once enough records have been appended to it.
+     * Only copies the tasks on the calling thread, all file work happens behind it.
+     *
+     * @param updatedTasks current list the snapshot is written from
+     */
+    public static void compactIfNeeded(List<Task> updatedTasks) {
+        if (journal == null || journal.getSize() < COMPACTION_THRESHOLD) {
+            return;
+        }
+
+        // tasks are changed in place by later commands, so the writer gets its own copies
+        List<Task> copy = updatedTasks instanceof FileTaskList
+                ? ((FileTaskList) updatedTasks).copy() : copyOf(updatedTasks);
+        long seq = journal.getLastSeq();
+        journal.rotateAsync(() -> compactor.submit(() -> {
+            try {
+                writeSnapshot(copy, seq);
+                new File(FileUI.JOURNAL_PATH + Journal.OLD_SUFFIX).delete();
+            } catch (IOException e) {
+                System.out.println("Error compacting tasks" + e.getMessage());
+            }
+        }));
+    }
+
 }
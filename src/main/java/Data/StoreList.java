@@ -5,27 +5,119 @@ import Tasks.*;
 
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.time.LocalDate;
 import java.util.Arrays;
-import java.util.stream.Collectors;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
 
 public class StoreList {
 
-    //declare array to store tasks
-    protected ArrayList<Task> items;
+    //declare array to store tasks, deleted tasks leave tombstones until compacted
+    protected TombstoneList items;
 
     //declare Tasks.Task
     protected Task t;
 
+    //journal that mutations are appended to, null if not persisted
+    protected Journal journal;
+
+    //counts changes to the list, so savers can skip writing a list that did not change
+    private long version;
+
+    //version last written to file, a freshly loaded list is already on disk
+    private long savedVersion;
+
+    //rough length of one rendered task line, to size output buffers
+    private static final int LINE_LENGTH_ESTIMATE = 64;
+
+    //tasks shown per page of list
+    public static final int PAGE_SIZE = 50;
+
+    //longest list shown in full by a plain list, longer ones show their first page
+    public static final int MAX_UNPAGED_SIZE = 1000;
+
+    //minutes before a deadline that its reminder fires
+    public static final int REMINDER_LEAD_MINUTES = 60;
+
+    //most days a free slot search covers
+    private static final int MAX_FREE_DAYS = 366;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final Pattern DURATION_PATTERN = Pattern.compile("(?:(\\d{1,4})h)?(?:(\\d{1,4})m)?|(\\d{1,4})");
+    private static final DateTimeFormatter DAY_FORMATTER = DateTimeFormatter.ofPattern("MMM dd yyyy");
+
+    //hash codes of all tasks for duplicate checks, built on first use
+    private TaskHashIndex hashIndex;
+
+    //indexes kept up to date on every change, each built on first use
+    private final List<TaskIndex> indexes = new ArrayList<>();
+    private KeywordIndex keywordIndex;
+    private TrigramIndex trigramIndex;
+    private DateIndex dateIndex;
+    private EventIntervalIndex eventIndex;
+
+    //reminders of upcoming deadlines, null until enabled
+    private ReminderWheel reminders;
+
     //initialize items array
-    public StoreList(ArrayList<Task> items) {
-        this.items = items;
+    public StoreList(List<Task> items) {
+        this.items = new TombstoneList(items);
+    }
+
+    /**
+     * Sets the journal that every mutation of the list is appended to
+     *
+     * @param journal journal to record mutations in
+     */
+    public void setJournal(Journal journal) {
+        this.journal = journal;
     }
 
-    public ArrayList<Task> getItems() {
-        return items;
+    /**
+     * Blocks until every mutation so far has been written to disk
+     */
+    public void flush() {
+        if (journal != null) {
+            journal.flush();
+        }
+    }
+
+    //getter
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns true if the list changed since it was loaded or last saved
+     */
+    public boolean isDirty() {
+        return version != savedVersion;
+    }
+
+    /**
+     * Records that the list as it is now has been written to file
+     */
+    public void markSaved() {
+        savedVersion = version;
+    }
+
+    /**
+     * Returns the tasks in the list, compacting away deleted tasks first
+     */
+    public List<Task> getItems() {
+        return items.compacted();
     }
 
     public Task get(int i) {
@@ -48,35 +140,35 @@ public class StoreList {
             if (type.equals("todo")) {
                 // create a Tasks.ToDos object
                 t = new ToDos(item);
-                if (items.contains(t)) {
-                    throw new DuplicateTaskException("OOPS!!! Task already exists leh");
-                }
-                items.add(t);
 
             } else if (type.equals("deadline")) {
                 // create a Tasks.Deadlines object
                 t = new Deadlines(item); // Constructor might throw Exceptions.EmptyDeadlineException
-                if (items.contains(t)) {
-                    throw new DuplicateTaskException("OOPS!!! Task already exists leh");
-                }
-                items.add(t);
 
             } else {
                 // create an Tasks.Events object
                 t = new Events(item); // Constructor might throw Exceptions.EmptyEventException
-                if (items.contains(t)) {
-                    throw new DuplicateTaskException("OOPS!!! Task already exists leh");
-                }
-                items.add(t);
             }
 
+            if (isDuplicate(t)) {
+                throw new DuplicateTaskException("OOPS!!! Task already exists leh");
+            }
+            items.add(t);
+            hashIndex.add(t.hashCode(), items.idAt(items.size() - 1));
+            indexTask(items.size() - 1, t);
+
+            version++;
+            if (journal != null) {
+                journal.recordAdd(t);
+            }
             return "    Got it. I've added this task:\n" + "      " + t.print() +
-                    "\n    Now you have " + this.getSize() + " tasks in the list.";
+                    "\n    Now you have " + this.getSize() + " tasks in the list." +
+                    (t instanceof Events ? clashWarning(items.size() - 1) : "");
 
         } catch (EmptyDescException | EmptyDeadlineException
                  | EmptyEventException | EmptyDeadlineDateException
                  | EmptyEventTimingException | EmptyEventDateException
-                 | InvalidTimeException | DuplicateTaskException e) {
+                 | InvalidTimeException | InvalidRecurrenceException | DuplicateTaskException e) {
 
             return e.getMessage();
 
@@ -85,6 +177,76 @@ public class StoreList {
         }
     }
 
+    /**
+     * Returns true if an equal task is already in the list.
+     * Only compares the tasks the hash index holds under the same hash code,
+     * by their stored bytes if they were never read from the snapshot file.
+     *
+     * @param task task about to be added
+     */
+    private boolean isDuplicate(Task task) {
+        if (hashIndex == null) {
+            buildHashIndex();
+        }
+        FileTaskList stored = items.fileBacked();
+        return hashIndex.anyMatch(task.hashCode(), id -> {
+            int position = items.positionOf(id);
+            if (position < 0) {
+                return false;
+            }
+            return stored != null ? stored.isEqualAt(items.slotOf(position), task) : items.get(position).equals(task);
+        });
+    }
+
+    /**
+     * Indexes the hash code of every task, without decoding tasks read from a snapshot file
+     */
+    private void buildHashIndex() {
+        hashIndex = new TaskHashIndex(items.size());
+        FileTaskList stored = items.fileBacked();
+        for (int i = 0; i < items.size(); i++) {
+            hashIndex.add(stored != null ? stored.hashCodeAt(items.slotOf(i)) : items.get(i).hashCode(), items.idAt(i));
+        }
+    }
+
+    /**
+     * Adds the task at position to every built index
+     *
+     * @param position 0-based position of task
+     * @param task task to be indexed
+     */
+    private void indexTask(int position, Task task) {
+        for (TaskIndex index : indexes) {
+            index.add(items.idAt(position), task);
+        }
+    }
+
+    /**
+     * Removes the task at position from every built index, before it is changed or removed
+     *
+     * @param position 0-based position of task
+     * @param task task to be removed
+     */
+    private void unindexTask(int position, Task task) {
+        for (TaskIndex index : indexes) {
+            index.remove(items.idAt(position), task);
+        }
+    }
+
+    /**
+     * Returns the 0-based positions of the task ids, in the same order.
+     * Sorted ids give positions in list order, since ids increase along the list.
+     *
+     * @param taskIds ids of tasks in the list
+     */
+    private int[] positionsOf(int[] taskIds) {
+        int[] positions = new int[taskIds.length];
+        for (int i = 0; i < taskIds.length; i++) {
+            positions[i] = items.positionOf(taskIds[i]);
+        }
+        return positions;
+    }
+
     //getter
     public int getSize() {
 
@@ -103,6 +265,10 @@ public class StoreList {
             throw new InvalidIndexException("Task number does not exist");
         }
         items.get(num - 1).mark();
+        version++;
+        if (journal != null) {
+            journal.recordMark(num);
+        }
         return "    Wohoo! I've marked this task as done! WELL DONE!:\n" +
                 "      " + items.get(num - 1).print();
     }
@@ -119,6 +285,10 @@ public class StoreList {
             throw new InvalidIndexException("Task number does not exist leh");
         }
         items.get(num - 1).unMark();
+        version++;
+        if (journal != null) {
+            journal.recordUnmark(num);
+        }
         return "    " + "Aww:( I've marked this task as not done yet:\n" +
                 "      " + items.get(num - 1).print();
     }
@@ -136,35 +306,211 @@ public class StoreList {
             throw new InvalidIndexException("Task number does not exist leh");
         }
         Task temp = items.get(num - 1);
+        unindexTask(num - 1, temp);
+        if (hashIndex != null) {
+            hashIndex.remove(temp.hashCode(), items.idAt(num - 1));
+        }
         items.remove(num - 1);
+        version++;
+        if (journal != null) {
+            journal.recordDelete(num);
+        }
         return "    " + "Noted! I've removed this task:\n" +
                 "      " + temp.print() + "\n    Now you have " + this.getSize() + " tasks in the list.";
 
     }
 
     /**
-     * Displays items in list
+     * Marks every chosen item as completed, journaled as one record
+     *
+     * @param spec task numbers like 1-500 or 3,7,9-20, or done, undone or all
+     */
+    public String markItems(String spec) throws InvalidIndexException {
+        int[] nums = selectTasks(spec);
+        if (nums.length == 0) {
+            return "    No tasks to mark leh";
+        }
+        for (int num : nums) {
+            items.get(num - 1).mark();
+        }
+        version++;
+        if (journal != null) {
+            journal.recordMark(TaskNumbers.format(nums));
+        }
+        return "    Wohoo! I've marked " + nums.length + " tasks as done! WELL DONE!";
+    }
+
+    /**
+     * Unmarks every chosen item as incomplete, journaled as one record
+     *
+     * @param spec task numbers like 1-500 or 3,7,9-20, or done, undone or all
+     */
+    public String unmarkItems(String spec) throws InvalidIndexException {
+        int[] nums = selectTasks(spec);
+        if (nums.length == 0) {
+            return "    No tasks to unmark leh";
+        }
+        for (int num : nums) {
+            items.get(num - 1).unMark();
+        }
+        version++;
+        if (journal != null) {
+            journal.recordUnmark(TaskNumbers.format(nums));
+        }
+        return "    Aww:( I've marked " + nums.length + " tasks as not done yet";
+    }
+
+    /**
+     * Deletes every chosen item in one pass over the list, journaled as one record
+     *
+     * @param spec task numbers like 1-500 or 3,7,9-20, or done, undone or all
+     */
+    public String deleteItems(String spec) throws InvalidIndexException {
+        int[] nums = selectTasks(spec);
+        if (nums.length == 0) {
+            return "    No tasks to delete leh";
+        }
+        int[] positions = new int[nums.length];
+        for (int i = 0; i < nums.length; i++) {
+            positions[i] = nums[i] - 1;
+            if (!indexes.isEmpty() || hashIndex != null) {
+                Task task = items.get(positions[i]);
+                unindexTask(positions[i], task);
+                if (hashIndex != null) {
+                    hashIndex.remove(task.hashCode(), items.idAt(positions[i]));
+                }
+            }
+        }
+        items.removePositions(positions);
+        version++;
+        if (journal != null) {
+            journal.recordDelete(TaskNumbers.format(nums));
+        }
+        return "    Noted! I've removed " + nums.length + " tasks.\n" +
+                "    Now you have " + this.getSize() + " tasks in the list.";
+    }
+
+    /**
+     * Returns the sorted task numbers chosen by spec
+     *
+     * @param spec task numbers like 1-500 or 3,7,9-20, or done, undone or all
+     */
+    private int[] selectTasks(String spec) throws InvalidIndexException {
+        String predicate = spec.trim();
+        if (predicate.isEmpty()) {
+            throw new InvalidIndexException("OOPS!!! Pls tell me which tasks leh");
+        }
+        if (!predicate.equals("done") && !predicate.equals("undone") && !predicate.equals("all")) {
+            return TaskNumbers.parse(predicate, items.size());
+        }
+        return IntStream.rangeClosed(1, items.size())
+                .filter(num -> predicate.equals("all")
+                        || items.get(num - 1).isDone() == predicate.equals("done"))
+                .toArray();
+    }
+
+    /**
+     * Displays items in list, or only the first page if the list is too long to show at once
      */
     public String displayItems() {
-        StringBuilder result = new StringBuilder("    Here are the tasks in your list:\n");
-        for (int i = 0; i < items.size(); i++) {
-            result.append("    ").append(i + 1).append(".").append(items.get(i).print()).append("\n");
+        if (items.size() > MAX_UNPAGED_SIZE) {
+            return displayItems(1, PAGE_SIZE);
+        }
+        String header = "    Here are the tasks in your list:\n";
+        StringBuilder result = new StringBuilder(header.length() + items.size() * LINE_LENGTH_ESTIMATE);
+        result.append(header);
+        Iterator<String> lines = lines(1, items.size());
+        while (lines.hasNext()) {
+            result.append(lines.next()).append("\n");
+        }
+        return result.toString();
+    }
+
+    /**
+     * Displays up to limit items in list, starting from task number from
+     *
+     * @param from task number of the first task shown (1-based index).
+     * @param limit most tasks shown.
+     */
+    public String displayItems(int from, int limit) {
+        if (from < 1 || limit < 1) {
+            return "OOPS!!! Pls give numbers more than 0 leh";
+        }
+        if (items.isEmpty()) {
+            return "    Here are the tasks in your list:\n";
+        }
+        if (from > items.size()) {
+            return "OOPS!!! There are only " + items.size() + " tasks in the list leh";
+        }
+
+        int to = (int) Math.min(items.size(), (long) from + limit - 1);
+        String header = "    Here are tasks " + from + " to " + to + " of " + items.size() + " in your list:\n";
+        StringBuilder result = new StringBuilder(header.length() + (to - from + 1) * LINE_LENGTH_ESTIMATE);
+        result.append(header);
+        Iterator<String> lines = lines(from, to);
+        while (lines.hasNext()) {
+            result.append(lines.next()).append("\n");
+        }
+        if (to < items.size()) {
+            result.append("    Use list --from ").append(to + 1).append(" --limit ").append(limit)
+                    .append(" to see more\n");
         }
         return result.toString();
     }
 
     /**
-     * Returns a formatted string representing the tasks due on the specified date.
+     * Returns a cursor over the numbered lines of tasks from to to, both included.
+     * Each line is rendered only when the cursor reaches it, so callers can stream a
+     * long list instead of building all of it up front.
+     *
+     * @param from task number of the first line (1-based index).
+     * @param to task number of the last line (1-based index).
+     */
+    public Iterator<String> lines(int from, int to) {
+        assert from >= 1 && to <= items.size() : "Task number does not exist";
+
+        return new Iterator<>() {
+            private int next = from;
+
+            @Override
+            public boolean hasNext() {
+                return next <= to;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                String line = "    " + next + "." + items.get(next - 1).print();
+                next++;
+                return line;
+            }
+        };
+    }
+
+    /**
+     * Returns a formatted string representing the tasks due on the specified date,
+     * or between two dates given as from..to.
      *
      * @param date The date to check deadlines against (in format yyyy-MM-dd or dd/MM/yyyy).
      */
     public String dueOnDate(String date) {
-        LocalDate inputDate;
-        //StringBuilder to append tasks due on the date
-        StringBuilder tasksDueOnDate = new StringBuilder();
+        if (date.contains("..")) {
+            String[] range = date.split("\\.\\.", 2);
+            LocalDate from = parseDeadline(range[0].trim());
+            LocalDate to = parseDeadline(range[1].trim());
 
-        // variable to store if tasks found
-        boolean found = false;
+            if (from == null || to == null) {
+                return "invalid date format! pls use yyyy-MM-dd or dd/MM/yyyy";
+            }
+            if (from.isAfter(to)) {
+                return "OOPS!!! The first date is after the second date leh";
+            }
+            return tasksDueBetween(range[0].trim(), range[1].trim(), from, to);
+        }
+
+        LocalDate inputDate;
 
         // check if input date matches format of stored date
         inputDate = parseDeadline(date);
@@ -174,44 +520,340 @@ public class StoreList {
         }
 
 
-        return tasksDue(date, tasksDueOnDate, inputDate, found);
+        return tasksDue(date, inputDate);
 
     }
 
     /**
-     * Returns true if any tasks were found, false otherwise.
-     * Helper method to find and append tasks due on a specific date.
+     * Returns the tasks due on a specific date, numbered by their position in the list.
+     * The tasks are looked up in the date index instead of checking every task,
+     * and tasks that repeat show up if they occur on the date.
      *
      * @param date           The original date string used in the request.
-     * @param tasksDueOnDate StringBuilder to append tasks due on the date.
      * @param inputDate      The parsed LocalDate of the input date.
-     * @param found          A boolean indicating if any tasks were found due on the date.
-     */
-    private String tasksDue(String date, StringBuilder tasksDueOnDate, LocalDate inputDate, boolean found) {
-        String tasksDue = items.stream()
-                .filter(task -> {
-                        // Check if task is a Deadline or Event and ensure getLocalDate() is not null
-                        LocalDate taskDate = null;
-        if (task instanceof Deadlines) {
-            taskDate = ((Deadlines) task).getLocalDate();
-        } else if (task instanceof Events) {
-            taskDate = ((Events) task).getLocalDate();
-        }
-
-        // Only include tasks with a non-null date that matches the inputDate
-        return taskDate != null && taskDate.equals(inputDate);
-    })
-                .map(task -> "    " + (items.indexOf(task) + 1) + "." + task.print() + "\n")
-                .collect(Collectors.joining());
-        tasksDueOnDate.append("    Here are the tasks due on ").append(date).append(":\n");
-
-        if (tasksDue.isEmpty()) {
+     */
+    private String tasksDue(String date, LocalDate inputDate) {
+        NavigableMap<LocalDate, int[]> days = getDateIndex().between(inputDate, inputDate);
+
+        if (days.isEmpty()) {
             return "Yay! No tasks due on " + date;
         } else {
-            return "    Here are the tasks due on " + date + ":\n" + tasksDue;
+            return renderOccurrences("    Here are the tasks due on " + date + ":\n", days);
         }
     }
 
+    /**
+     * Returns the tasks due between two dates, both included, ordered by date
+     *
+     * @param fromDate the original first date string used in the request.
+     * @param toDate the original last date string used in the request.
+     * @param from the parsed first date.
+     * @param to the parsed last date.
+     */
+    private String tasksDueBetween(String fromDate, String toDate, LocalDate from, LocalDate to) {
+        NavigableMap<LocalDate, int[]> days = getDateIndex().between(from, to);
+
+        if (days.isEmpty()) {
+            return "Yay! No tasks due from " + fromDate + " to " + toDate;
+        } else {
+            return renderOccurrences("    Here are the tasks due from " + fromDate + " to " + toDate + ":\n", days);
+        }
+    }
+
+    /**
+     * Returns the next deadlines not yet done, due on or after a date, earliest first.
+     * Deadlines on the same day are ordered by time, those without a time last.
+     * A deadline that repeats shows up once for each of its next occurrences.
+     *
+     * @param count number of deadlines to show.
+     * @param today first date to include.
+     */
+    public String nextDeadlines(int count, LocalDate today) {
+        if (count <= 0) {
+            return "OOPS!!! Pls give a number of deadlines more than 0 leh";
+        }
+
+        // no more than count occurrences of each repeating deadline can be shown
+        NavigableMap<LocalDate, List<Integer>> days = new TreeMap<>();
+        for (int id : getDateIndex().repeatingIds()) {
+            int position = items.positionOf(id);
+            Task task = items.get(position);
+            if (task instanceof Deadlines && !task.isDone()) {
+                LocalDate first = ((Deadlines) task).getLocalDate();
+                LocalDate date = task.getRecurrence().nextOnOrAfter(first, today);
+                for (int n = 0; n < count && date != null; n++) {
+                    days.computeIfAbsent(date, d -> new ArrayList<>()).add(position);
+                    date = task.getRecurrence().nextOnOrAfter(first, date.plusDays(1));
+                }
+            }
+        }
+
+        int found = 0;
+        for (Map.Entry<LocalDate, IdList> entry : getDateIndex().from(today).entrySet()) {
+            IdList dayIds = entry.getValue();
+            for (int i = 0; i < dayIds.size(); i++) {
+                int position = items.positionOf(dayIds.get(i));
+                Task task = items.get(position);
+                if (task instanceof Deadlines && !task.isDone()) {
+                    days.computeIfAbsent(entry.getKey(), d -> new ArrayList<>()).add(position);
+                    found++;
+                }
+            }
+            if (found >= count) {
+                break;
+            }
+        }
+
+        if (days.isEmpty()) {
+            return "Yay! No deadlines coming up";
+        }
+        NavigableMap<LocalDate, int[]> shown = new TreeMap<>();
+        int left = count;
+        for (Map.Entry<LocalDate, List<Integer>> entry : days.entrySet()) {
+            if (left == 0) {
+                break;
+            }
+            List<Integer> day = entry.getValue();
+            day.sort(Comparator.comparing((Integer position) -> timeOf((Deadlines) items.get(position)))
+                    .thenComparing(position -> position));
+            int[] ids = day.stream().limit(left).mapToInt(position -> items.idAt(position)).toArray();
+            shown.put(entry.getKey(), ids);
+            left -= ids.length;
+        }
+        return renderOccurrences("    Here are your next " + (count - left) + " deadlines:\n", shown);
+    }
+
+    private static LocalTime timeOf(Deadlines deadline) {
+        LocalDateTime dateTime = deadline.getLocalDateTime();
+        return dateTime != null ? dateTime.toLocalTime() : LocalTime.MAX;
+    }
+
+    /**
+     * Returns the date index, indexing the date of every task on first use
+     */
+    private DateIndex getDateIndex() {
+        if (dateIndex == null) {
+            dateIndex = new DateIndex();
+            for (int i = 0; i < items.size(); i++) {
+                dateIndex.add(items.idAt(i), items.get(i));
+            }
+            indexes.add(dateIndex);
+        }
+        return dateIndex;
+    }
+
+    /**
+     * Returns a warning listing the events that clash with the event at position,
+     * or an empty string if none do
+     *
+     * @param position 0-based position of event
+     */
+    private String clashWarning(int position) {
+        int[] clashes = getEventIndex().clashesWith(items.idAt(position), items.get(position));
+        if (clashes.length == 0) {
+            return "";
+        }
+        return "\n" + renderTasks("    Heads up! It clashes with:\n", positionsOf(clashes)).stripTrailing();
+    }
+
+    /**
+     * Displays every pair of events that clash on a date, or on any date if none is given
+     *
+     * @param date The date to check (in format yyyy-MM-dd or dd/MM/yyyy), or empty for all dates.
+     */
+    public String displayConflicts(String date) {
+        LocalDate onDate = null;
+        if (!date.isEmpty()) {
+            onDate = parseDeadline(date);
+            if (onDate == null) {
+                return "invalid date format! pls use yyyy-MM-dd or dd/MM/yyyy";
+            }
+        }
+
+        List<int[]> pairs = getEventIndex().clashingPairs(onDate, onDate);
+        if (pairs.isEmpty()) {
+            return "Yay! No clashing events";
+        }
+        String header = onDate == null ? "    Here are the clashing events:\n"
+                : "    Here are the clashing events on " + date + ":\n";
+        StringBuilder result = new StringBuilder(header.length() + pairs.size() * 2 * LINE_LENGTH_ESTIMATE);
+        result.append(header);
+        for (int[] pair : pairs) {
+            int first = items.positionOf(pair[0]);
+            int second = items.positionOf(pair[1]);
+            LocalDate day = LocalDate.ofEpochDay(pair[2]);
+            result.append("    ").append(first + 1).append(".").append(items.get(first).printOn(day)).append("\n");
+            result.append("      clashes with ").append(second + 1).append(".")
+                    .append(items.get(second).printOn(day)).append("\n");
+        }
+        return result.toString();
+    }
+
+    /**
+     * Displays the free windows of at least a duration between events,
+     * on a date or on every date of a range given as from..to
+     *
+     * @param dates The date or range of dates to search (in format yyyy-MM-dd or dd/MM/yyyy).
+     * @param duration The shortest window to show, like 90m, 2h or 1h30m.
+     */
+    public String displayFreeSlots(String dates, String duration) {
+        String[] range = dates.split("\\.\\.", 2);
+        LocalDate from = parseDeadline(range[0].trim());
+        LocalDate to = range.length == 2 ? parseDeadline(range[1].trim()) : from;
+        if (from == null || to == null) {
+            return "invalid date format! pls use yyyy-MM-dd or dd/MM/yyyy";
+        }
+        if (from.isAfter(to)) {
+            return "OOPS!!! The first date is after the second date leh";
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_FREE_DAYS) {
+            return "OOPS!!! Pls search at most " + MAX_FREE_DAYS + " days at a time leh";
+        }
+        int minutes = parseMinutes(duration);
+        if (minutes <= 0 || minutes > MINUTES_PER_DAY) {
+            return "OOPS!!! Pls give a duration like 90m, 2h or 1h30m, up to 24h leh";
+        }
+
+        List<long[]> windows = getEventIndex().freeWindows(from, to, minutes);
+        if (windows.isEmpty()) {
+            return "Sorry, no free slots that long leh";
+        }
+        StringBuilder result = new StringBuilder("    Here are your free slots of at least " + duration + ":");
+        long day = Long.MIN_VALUE;
+        for (long[] window : windows) {
+            long windowDay = Math.floorDiv(window[0], MINUTES_PER_DAY);
+            if (windowDay != day) {
+                day = windowDay;
+                result.append("\n    ").append(LocalDate.ofEpochDay(day).format(DAY_FORMATTER)).append(": ");
+            } else {
+                result.append(", ");
+            }
+            result.append(clockTime(window[0] - day * MINUTES_PER_DAY)).append(" to ")
+                    .append(clockTime(window[1] - day * MINUTES_PER_DAY));
+        }
+        return result.append("\n").toString();
+    }
+
+    /**
+     * Returns the minutes in a duration like 90m, 2h, 1h30m or 90, or -1 if it is not one
+     *
+     * @param duration duration to read
+     */
+    private static int parseMinutes(String duration) {
+        Matcher matcher = DURATION_PATTERN.matcher(duration.trim().toLowerCase(Locale.ROOT));
+        if (!matcher.matches() || duration.isBlank()) {
+            return -1;
+        }
+        if (matcher.group(3) != null) {
+            return Integer.parseInt(matcher.group(3));
+        }
+        int hours = matcher.group(1) == null ? 0 : Integer.parseInt(matcher.group(1));
+        int minutes = matcher.group(2) == null ? 0 : Integer.parseInt(matcher.group(2));
+        return hours * 60 + minutes;
+    }
+
+    /**
+     * Returns minutes into a day as HH:mm, with the end of the day as 24:00
+     */
+    private static String clockTime(long minutes) {
+        return String.format("%02d:%02d", minutes / 60, minutes % 60);
+    }
+
+    /**
+     * Schedules a reminder for every deadline still to come, read from the date index.
+     * Reminders then follow changes to the list like an index does. Does nothing if already enabled.
+     *
+     * @param now current time
+     */
+    public void enableReminders(LocalDateTime now) {
+        if (reminders != null) {
+            return;
+        }
+        reminders = new ReminderWheel(now, REMINDER_LEAD_MINUTES);
+        for (IdList dayIds : getDateIndex().from(now.toLocalDate()).values()) {
+            for (int i = 0; i < dayIds.size(); i++) {
+                int id = dayIds.get(i);
+                reminders.add(id, items.get(items.positionOf(id)));
+            }
+        }
+        for (int id : getDateIndex().repeatingIds()) {
+            reminders.add(id, items.get(items.positionOf(id)));
+        }
+        indexes.add(reminders);
+    }
+
+    /**
+     * Returns a reminder of the deadlines not yet done that became due soon since the last call,
+     * or an empty string if there are none or reminders are not enabled
+     *
+     * @param now current time
+     */
+    public String dueReminders(LocalDateTime now) {
+        if (reminders == null) {
+            return "";
+        }
+        List<int[]> fired = reminders.advance(now);
+        if (fired.isEmpty()) {
+            return "";
+        }
+        StringBuilder result = new StringBuilder("    Reminder! These deadlines are due soon:");
+        for (int[] reminder : fired) {
+            int position = items.positionOf(reminder[0]);
+            result.append("\n    ").append(position + 1).append(".")
+                    .append(items.get(position).printOn(LocalDate.ofEpochDay(reminder[1])));
+        }
+        return result.toString();
+    }
+
+    /**
+     * Returns the event index, indexing the times of every event on first use
+     */
+    private EventIntervalIndex getEventIndex() {
+        if (eventIndex == null) {
+            eventIndex = new EventIntervalIndex();
+            for (int i = 0; i < items.size(); i++) {
+                eventIndex.add(items.idAt(i), items.get(i));
+            }
+            indexes.add(eventIndex);
+        }
+        return eventIndex;
+    }
+
+    /**
+     * Returns header followed by one numbered line per task position,
+     * built in a single StringBuilder sized for the expected output
+     *
+     * @param header first line of the output
+     * @param positions 0-based positions of the tasks to render, in list order
+     */
+    private String renderTasks(String header, int[] positions) {
+        StringBuilder result = new StringBuilder(header.length() + positions.length * LINE_LENGTH_ESTIMATE);
+        result.append(header);
+        for (int i : positions) {
+            result.append("    ").append(i + 1).append(".").append(items.get(i).print()).append("\n");
+        }
+        return result.toString();
+    }
+
+    /**
+     * Returns header followed by one numbered line per task on each date, in date order.
+     * A task that repeats is shown as its occurrence on that date.
+     *
+     * @param header first line of the output
+     * @param days dates with the sorted ids of their tasks
+     */
+    private String renderOccurrences(String header, NavigableMap<LocalDate, int[]> days) {
+        StringBuilder result = new StringBuilder(header.length() + days.size() * LINE_LENGTH_ESTIMATE);
+        result.append(header);
+        for (Map.Entry<LocalDate, int[]> entry : days.entrySet()) {
+            for (int i : positionsOf(entry.getValue())) {
+                result.append("    ").append(i + 1).append(".").append(items.get(i).printOn(entry.getKey()))
+                        .append("\n");
+            }
+        }
+        return result.toString();
+    }
+
     /**
      * Parses a date string and returns a LocalDate object.
      *
@@ -219,37 +861,135 @@ public class StoreList {
      * @return A LocalDate object if the date is valid, or null if the format is invalid.
      */
     private static LocalDate parseDeadline(String date) {
-        LocalDate inputDate;
-        try {
-            // check if input date matches format of stored date
-            inputDate = ParseTasks.parseDateFormat1(date);
-        } catch (Exception e) {
-            try {
-                // check if input date matches format of stored date
-                inputDate = ParseTasks.parseDateFormat2(date);
-            } catch (Exception e2) {
-                return null;
-            }
-        }
-        return inputDate;
+        // check if input date matches format of stored date
+        return ParseTasks.parseDateOrNull(date);
     }
 
     /**
-     * Displays items in list based on keyword
+     * Displays items in list based on keyword.
+     * Keywords of 3 or more characters are narrowed down with the trigram index
+     * and then checked with contains, shorter ones need the whole list scanned.
      *
      * @param substrings the keywords to search against.
      */
     public String displayItemsWithWord(String... substrings) {
-        String result = items.stream()
-                .filter(task -> {
-                    String taskDesc = task.getTaskDesc();
+        boolean canUseIndex = Arrays.stream(substrings)
+                .allMatch(substring -> substring.length() >= TrigramIndex.GRAM_LENGTH);
+
+        IntStream candidates;
+        if (canUseIndex) {
+            if (trigramIndex == null) {
+                buildTrigramIndex();
+            }
+            List<int[]> matches = new ArrayList<>();
+            for (String substring : substrings) {
+                matches.add(trigramIndex.candidates(substring));
+            }
+            candidates = Arrays.stream(positionsOf(IdList.union(matches)));
+        } else {
+            candidates = IntStream.range(0, items.size());
+        }
+
+        int[] positions = candidates
+                .filter(i -> {
+                    String taskDesc = descAt(i);
                     return Arrays.stream(substrings)
                             .anyMatch(taskDesc::contains);
                 })
-                .map(task -> "    " + (items.indexOf(task) + 1) + "." + task.print() + "\n")
-                .collect(Collectors.joining());
+                .toArray();
 
-        return "    Here are the tasks in your list that match your search:\n" + result;
+        return renderTasks("    Here are the tasks in your list that match your search:\n", positions);
+    }
+
+    /**
+     * Indexes the trigrams of every task, without decoding tasks read from a snapshot file
+     */
+    private void buildTrigramIndex() {
+        trigramIndex = new TrigramIndex();
+        for (int i = 0; i < items.size(); i++) {
+            trigramIndex.add(items.idAt(i), descAt(i));
+        }
+        indexes.add(trigramIndex);
+    }
+
+    /**
+     * Returns the desc of the task at position, without decoding it if it is still in the snapshot file
+     *
+     * @param i 0-based position of task
+     */
+    private String descAt(int i) {
+        FileTaskList stored = items.fileBacked();
+        if (stored != null) {
+            return stored.descAt(items.slotOf(i));
+        }
+        return items.get(i).getTaskDesc();
+    }
+
+    /**
+     * Displays items in list containing all or any of the words, ignoring case.
+     * Looks the words up in the keyword index instead of scanning the list.
+     *
+     * @param isAll true if a task must contain every word, false if any one is enough
+     * @param words the words to search for.
+     */
+    public String displayItemsWithWords(boolean isAll, String... words) {
+        if (keywordIndex == null) {
+            buildKeywordIndex();
+        }
+        int[] matches = isAll ? keywordIndex.matchAll(words) : keywordIndex.matchAny(words);
+
+        return renderTasks("    Here are the tasks in your list that match your search:\n", positionsOf(matches));
+    }
+
+    /**
+     * Indexes the words of every task, without decoding tasks read from a snapshot file
+     */
+    private void buildKeywordIndex() {
+        keywordIndex = new KeywordIndex();
+        for (int i = 0; i < items.size(); i++) {
+            keywordIndex.add(items.idAt(i), descAt(i));
+        }
+        indexes.add(keywordIndex);
+    }
+
+    /**
+     * Returns the size and rough memory use of the list and of every index built so far
+     */
+    public String displayStats() {
+        Runtime runtime = Runtime.getRuntime();
+        long heapUsed = runtime.totalMemory() - runtime.freeMemory();
+
+        StringBuilder result = new StringBuilder("    Here are some stats about your list:\n");
+        result.append("    tasks: ").append(items.size()).append("\n");
+        result.append("    ids: ").append(kiloBytes(items.memoryEstimate()))
+                .append(", ").append(items.getDeadCount()).append(" deleted tasks not compacted yet\n");
+        result.append("    duplicate index: ")
+                .append(hashIndex == null ? "not built" : kiloBytes(hashIndex.memoryEstimate())).append("\n");
+        result.append("    word index: ")
+                .append(keywordIndex == null ? "not built"
+                        : keywordIndex.size() + " words, " + kiloBytes(keywordIndex.memoryEstimate()))
+                .append("\n");
+        result.append("    substring index: ")
+                .append(trigramIndex == null ? "not built"
+                        : trigramIndex.size() + " trigrams, " + kiloBytes(trigramIndex.memoryEstimate()))
+                .append("\n");
+        result.append("    date index: ")
+                .append(dateIndex == null ? "not built"
+                        : dateIndex.size() + " dates, " + kiloBytes(dateIndex.memoryEstimate()))
+                .append("\n");
+        result.append("    reminders: ")
+                .append(reminders == null ? "off" : reminders.size() + " pending")
+                .append("\n");
+        result.append("    event index: ")
+                .append(eventIndex == null ? "not built"
+                        : eventIndex.size() + " events, " + kiloBytes(eventIndex.memoryEstimate()))
+                .append("\n");
+        result.append("    heap used: ").append(kiloBytes(heapUsed)).append("\n");
+        return result.toString();
+    }
+
+    private static String kiloBytes(long bytes) {
+        return (bytes + 1023) / 1024 + " KB";
     }
 
     /**
@@ -265,29 +1005,49 @@ public class StoreList {
      */
     public String updateTask(int itemNum, String type, String newValue) {
         Task task = items.get(itemNum - 1);
+        String before = Storage.encodeTask(task);
+        int hashBefore = task.hashCode();
+        String result;
+        unindexTask(itemNum - 1, task);
         if (type.equals("date")) {
 
-            return updateTaskDate(itemNum, newValue, task);
+            result = updateTaskDate(itemNum, newValue, task);
 
         } else if (type.equals("time")) {
 
-            return updateDeadlineTime(itemNum, newValue, task);
+            result = updateDeadlineTime(itemNum, newValue, task);
 
         } else if (type.equals("datetime")) {
 
-            return updateDeadlineDateTime(itemNum, newValue, task);
+            result = updateDeadlineDateTime(itemNum, newValue, task);
 
         } else if (type.equals("startTime")) {
 
-            return updateEventStartTime(itemNum, newValue, task);
+            result = updateEventStartTime(itemNum, newValue, task);
 
         } else if (type.equals("endTime")) {
 
-            return updateEventEndTime(itemNum, newValue, task);
+            result = updateEventEndTime(itemNum, newValue, task);
 
         } else {
-            return "Only task type desc, date, startTime, endTime, time, datetime are allowed";
+            result = "Only task type desc, date, startTime, endTime, time, datetime are allowed";
+        }
+        indexTask(itemNum - 1, task);
+
+        // updates rewrite desc, which the hash code is taken from
+        if (hashIndex != null && hashBefore != task.hashCode()) {
+            hashIndex.remove(hashBefore, items.idAt(itemNum - 1));
+            hashIndex.add(task.hashCode(), items.idAt(itemNum - 1));
+        }
+
+        // only the stored desc is persisted, so log the update if it changed
+        if (!before.equals(Storage.encodeTask(task))) {
+            version++;
+            if (journal != null) {
+                journal.recordUpdate(itemNum, task);
+            }
         }
+        return result;
     }
 
     /**
@@ -0,0 +1,118 @@
+package Data;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Multimap from task hash code to the ids of the tasks with it, used to find a duplicate
+ * task without scanning the list. Only the tasks whose hash matches are compared, which
+ * outside of real duplicates and rare collisions is none. Kept as open addressing over int
+ * arrays, one slot per task, so that indexing a million tasks does not allocate a million
+ * entry objects.
+ */
+class TaskHashIndex {
+    private static final byte EMPTY = 0;
+    private static final byte USED = 1;
+    private static final byte REMOVED = 2;
+
+    private int[] hashes;
+    private int[] ids;
+    private byte[] states;
+
+    // slots that are used or were used, removed slots still lengthen probes until a resize
+    private int usedSlots;
+    private int size;
+
+    TaskHashIndex(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Returns true if the id of some task with this hash code passes isEqual
+     *
+     * @param hash hash code of task
+     * @param isEqual compares the task with an id against the task looked for
+     */
+    boolean anyMatch(int hash, IntPredicate isEqual) {
+        int mask = hashes.length - 1;
+        for (int slot = mix(hash) & mask; states[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (states[slot] == USED && hashes[slot] == hash && isEqual.test(ids[slot])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void add(int hash, int id) {
+        int mask = hashes.length - 1;
+        int slot = mix(hash) & mask;
+        while (states[slot] == USED) {
+            slot = (slot + 1) & mask;
+        }
+        if (states[slot] == EMPTY) {
+            usedSlots++;
+        }
+        states[slot] = USED;
+        hashes[slot] = hash;
+        ids[slot] = id;
+        size++;
+
+        if (usedSlots * 2 > hashes.length) {
+            resize();
+        }
+    }
+
+    void remove(int hash, int id) {
+        int mask = hashes.length - 1;
+        for (int slot = mix(hash) & mask; states[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (states[slot] == USED && hashes[slot] == hash && ids[slot] == id) {
+                states[slot] = REMOVED;
+                size--;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the bytes held by the table, for memory statistics
+     */
+    long memoryEstimate() {
+        return 3 * 16 + 9L * hashes.length;
+    }
+
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int capacityFor(int entries) {
+        int capacity = 16;
+        while (capacity < entries * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private void allocate(int capacity) {
+        hashes = new int[capacity];
+        ids = new int[capacity];
+        states = new byte[capacity];
+        usedSlots = 0;
+        size = 0;
+    }
+
+    /**
+     * Rebuilds the table, dropping removed slots
+     */
+    private void resize() {
+        int[] oldHashes = hashes;
+        int[] oldIds = ids;
+        byte[] oldStates = states;
+
+        allocate(capacityFor(size * 2));
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldStates[i] == USED) {
+                add(oldHashes[i], oldIds[i]);
+            }
+        }
+    }
+}
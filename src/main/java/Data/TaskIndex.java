@@ -0,0 +1,27 @@
+package Data;
+
+import Tasks.Task;
+
+/**
+ * Secondary index over the tasks of a StoreList, keyed by task id.
+ * StoreList removes a task from its indexes before changing it and adds it back
+ * afterwards, so an index only ever sees consistent task states.
+ */
+interface TaskIndex {
+
+    /**
+     * Adds a task to the index
+     *
+     * @param id id of task
+     * @param task task to be indexed
+     */
+    void add(int id, Task task);
+
+    /**
+     * Removes a task from the index, given the same state it was added with
+     *
+     * @param id id of task
+     * @param task task to be removed
+     */
+    void remove(int id, Task task);
+}
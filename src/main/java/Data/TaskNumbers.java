@@ -0,0 +1,113 @@
+package Data;
+
+import Exceptions.InvalidIndexException;
+
+import java.util.Arrays;
+
+/**
+ * Reads and writes lists of task numbers in the form 3,7,9-20.
+ * Used for the task numbers of bulk commands and of bulk journal records.
+ */
+class TaskNumbers {
+
+    /**
+     * Returns the sorted distinct task numbers in spec, e.g. 1-500 or 3,7,9-20
+     *
+     * @param spec task numbers and ranges of task numbers, separated by commas
+     * @param size number of tasks in the list
+     * @throws InvalidIndexException if a part is not a number or range within the list
+     */
+    static int[] parse(String spec, int size) throws InvalidIndexException {
+        String[] parts = spec.split(",");
+        boolean[] isChosen = new boolean[size + 1];
+        int count = 0;
+        for (String part : parts) {
+            String range = part.trim();
+            int dash = range.indexOf('-', 1);
+            int first = number(dash < 0 ? range : range.substring(0, dash));
+            int last = dash < 0 ? first : number(range.substring(dash + 1));
+            if (first < 1 || last < first) {
+                throw new InvalidIndexException("OOPS!!! " + range + " is not a valid task number or range leh");
+            }
+            if (last > size) {
+                throw new InvalidIndexException("Task number does not exist leh");
+            }
+            for (int num = first; num <= last; num++) {
+                if (!isChosen[num]) {
+                    isChosen[num] = true;
+                    count++;
+                }
+            }
+        }
+
+        int[] nums = new int[count];
+        int next = 0;
+        for (int num = 1; num <= size; num++) {
+            if (isChosen[num]) {
+                nums[next++] = num;
+            }
+        }
+        return nums;
+    }
+
+    /**
+     * Returns sorted task numbers in the form parse reads, with runs written as ranges
+     *
+     * @param nums sorted distinct task numbers
+     */
+    static String format(int[] nums) {
+        StringBuilder result = new StringBuilder();
+        int i = 0;
+        while (i < nums.length) {
+            int end = i;
+            while (end + 1 < nums.length && nums[end + 1] == nums[end] + 1) {
+                end++;
+            }
+            if (result.length() > 0) {
+                result.append(',');
+            }
+            result.append(nums[i]);
+            if (end > i) {
+                result.append('-').append(nums[end]);
+            }
+            i = end + 1;
+        }
+        return result.toString();
+    }
+
+    /**
+     * Returns the task numbers written in spec, without checking them against a list
+     *
+     * @param spec task numbers as written by format
+     */
+    static int[] parse(String spec) {
+        int total = 0;
+        int[][] ranges = new int[spec.split(",").length][];
+        int r = 0;
+        for (String range : spec.split(",")) {
+            int dash = range.indexOf('-', 1);
+            int first = Integer.parseInt(dash < 0 ? range : range.substring(0, dash));
+            int last = dash < 0 ? first : Integer.parseInt(range.substring(dash + 1));
+            ranges[r++] = new int[] {first, last};
+            total += last - first + 1;
+        }
+
+        int[] nums = new int[total];
+        int next = 0;
+        for (int[] range : ranges) {
+            for (int num = range[0]; num <= range[1]; num++) {
+                nums[next++] = num;
+            }
+        }
+        Arrays.sort(nums);
+        return nums;
+    }
+
+    private static int number(String text) throws InvalidIndexException {
+        try {
+            return Integer.parseInt(text.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidIndexException("OOPS!!! " + text.trim() + " is not a task number leh");
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package Data;
+
+import Tasks.Task;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Task list where every task has a stable id and a delete only leaves a tombstone.
+ * Tasks stay in their slot of the backing list until tombstones make up half of the
+ * slots, then all of them are compacted away in one pass, so a delete does not shift
+ * the rest of the list each time.
+ * Task numbers shown to the user are positions among the live slots, found through
+ * a Fenwick tree of live slots, and ids increase along the list.
+ */
+class TombstoneList extends AbstractList<Task> implements RandomAccess {
+    private final List<Task> backing;
+
+    //id of the task in each slot, dead slots included
+    private final IdList slotIds;
+    private int nextId;
+
+    private boolean[] isDead;
+    private int deadCount;
+
+    //Fenwick tree counting the live slots, 1-based
+    private int[] liveTree;
+
+    TombstoneList(List<Task> backing) {
+        this.backing = backing;
+        this.slotIds = new IdList(backing.size());
+        while (nextId < backing.size()) {
+            slotIds.add(++nextId);
+        }
+        this.isDead = new boolean[Math.max(backing.size(), 8)];
+        rebuildTree();
+    }
+
+    @Override
+    public int size() {
+        return backing.size() - deadCount;
+    }
+
+    @Override
+    public Task get(int i) {
+        return backing.get(slotOf(i));
+    }
+
+    @Override
+    public Task set(int i, Task task) {
+        return backing.set(slotOf(i), task);
+    }
+
+    /**
+     * Appends task with the next id, tasks can only be added at the end
+     */
+    @Override
+    public void add(int i, Task task) {
+        if (i != size()) {
+            throw new UnsupportedOperationException("Tasks can only be added at the end");
+        }
+        int slot = backing.size();
+        if (slot == isDead.length) {
+            isDead = Arrays.copyOf(isDead, slot + (slot >> 1));
+            backing.add(task);
+            rebuildTree();
+        } else {
+            backing.add(task);
+            addLive(slot, 1);
+        }
+        slotIds.add(++nextId);
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int i) {
+        int slot = slotOf(i);
+        Task old = backing.get(slot);
+        bury(slot);
+        compactIfNeeded();
+        modCount++;
+        return old;
+    }
+
+    /**
+     * Removes the tasks at the positions, leaving tombstones
+     *
+     * @param positions sorted distinct 0-based positions
+     */
+    void removePositions(int[] positions) {
+        int[] slots = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            slots[i] = slotOf(positions[i]);
+        }
+        for (int slot : slots) {
+            bury(slot);
+        }
+        compactIfNeeded();
+        modCount++;
+    }
+
+    /**
+     * Returns the position of a task equal to o, compacting first
+     * so a file-backed list can compare tasks without decoding them
+     */
+    @Override
+    public int indexOf(Object o) {
+        compact();
+        return backing.indexOf(o);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Returns the id of the task at position i
+     *
+     * @param i 0-based position of task
+     */
+    int idAt(int i) {
+        return slotIds.get(slotOf(i));
+    }
+
+    /**
+     * Returns the 0-based position of the task with id, or -1 if it was deleted
+     *
+     * @param id id of task
+     */
+    int positionOf(int id) {
+        int slot = slotIds.indexOf(id);
+        if (slot < 0 || isDead[slot]) {
+            return -1;
+        }
+        return deadCount == 0 ? slot : liveUpTo(slot) - 1;
+    }
+
+    /**
+     * Returns the slot of the backing list holding the task at position i
+     *
+     * @param i 0-based position of task
+     */
+    int slotOf(int i) {
+        if (i < 0 || i >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size());
+        }
+        if (deadCount == 0) {
+            return i;
+        }
+        // walk down the tree to the slot where the live count reaches i + 1
+        int slot = 0;
+        int remaining = i + 1;
+        for (int step = Integer.highestOneBit(liveTree.length - 1); step > 0; step >>= 1) {
+            int next = slot + step;
+            if (next < liveTree.length && liveTree[next] < remaining) {
+                slot = next;
+                remaining -= liveTree[next];
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the backing list if it reads from a snapshot file, for reads that need not decode tasks
+     */
+    FileTaskList fileBacked() {
+        return backing instanceof FileTaskList ? (FileTaskList) backing : null;
+    }
+
+    /**
+     * Removes every tombstone from the backing list and returns it,
+     * for callers that read the whole list such as snapshot writers
+     */
+    List<Task> compacted() {
+        compact();
+        return backing;
+    }
+
+    //getter
+    int getDeadCount() {
+        return deadCount;
+    }
+
+    /**
+     * Returns the bytes held by the ids and tombstones, for memory statistics
+     */
+    long memoryEstimate() {
+        return slotIds.memoryEstimate() + 16 + isDead.length + 16 + 4L * liveTree.length;
+    }
+
+    private void bury(int slot) {
+        isDead[slot] = true;
+        deadCount++;
+        addLive(slot, -1);
+    }
+
+    private void compactIfNeeded() {
+        if (deadCount * 2 > backing.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * Removes the dead slots from the backing list and the ids in one pass
+     */
+    private void compact() {
+        if (deadCount == 0) {
+            return;
+        }
+        int[] deadSlots = new int[deadCount];
+        int next = 0;
+        for (int slot = 0; slot < backing.size(); slot++) {
+            if (isDead[slot]) {
+                deadSlots[next++] = slot;
+            }
+        }
+        Storage.removePositions(backing, deadSlots);
+        slotIds.removeAll(deadSlots);
+        Arrays.fill(isDead, false);
+        deadCount = 0;
+        rebuildTree();
+    }
+
+    private void addLive(int slot, int delta) {
+        for (int k = slot + 1; k < liveTree.length; k += k & -k) {
+            liveTree[k] += delta;
+        }
+    }
+
+    /**
+     * Returns the number of live slots from 0 to slot, both included
+     */
+    private int liveUpTo(int slot) {
+        int count = 0;
+        for (int k = slot + 1; k > 0; k -= k & -k) {
+            count += liveTree[k];
+        }
+        return count;
+    }
+
+    /**
+     * Builds the tree over the capacity of isDead in one pass
+     */
+    private void rebuildTree() {
+        liveTree = new int[isDead.length + 1];
+        for (int k = 1; k < liveTree.length; k++) {
+            if (k <= backing.size() && !isDead[k - 1]) {
+                liveTree[k]++;
+            }
+            int parent = k + (k & -k);
+            if (parent < liveTree.length) {
+                liveTree[parent] += liveTree[k];
+            }
+        }
+    }
+}
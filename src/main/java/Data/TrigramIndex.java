@@ -0,0 +1,112 @@
+package Data;
+
+import Tasks.Task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Index from every run of three characters in a task's desc to the sorted ids of the tasks containing it.
+ * A desc can only contain a keyword if it contains all of the keyword's trigrams, so intersecting
+ * their posting lists narrows a substring search down to a few candidates, which are then
+ * checked with contains. Case is kept, like in contains.
+ */
+class TrigramIndex implements TaskIndex {
+    static final int GRAM_LENGTH = 3;
+
+    private final HashMap<Long, IdList> postings = new HashMap<>();
+
+    @Override
+    public void add(int id, Task task) {
+        add(id, task.getTaskDesc());
+    }
+
+    /**
+     * Adds a task to the index by its desc alone, so a file-backed list need not decode it
+     *
+     * @param id id of task
+     * @param desc desc of task
+     */
+    void add(int id, String desc) {
+        for (long gram : grams(desc)) {
+            postings.computeIfAbsent(gram, g -> new IdList(1)).add(id);
+        }
+    }
+
+    @Override
+    public void remove(int id, Task task) {
+        for (long gram : grams(task.getTaskDesc())) {
+            IdList ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.size() == 0) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the sorted ids of tasks that may contain keyword, a superset of the tasks that do
+     *
+     * @param keyword keyword of at least GRAM_LENGTH characters
+     */
+    int[] candidates(String keyword) {
+        assert keyword.length() >= GRAM_LENGTH : "Keyword too short for trigrams";
+
+        List<IdList> lists = new ArrayList<>();
+        for (long gram : grams(keyword)) {
+            IdList ids = postings.get(gram);
+            if (ids == null) {
+                return new int[0];
+            }
+            lists.add(ids);
+        }
+        return IdList.intersect(lists);
+    }
+
+    /**
+     * Returns the number of distinct trigrams indexed
+     */
+    int size() {
+        return postings.size();
+    }
+
+    /**
+     * Returns a rough count of the bytes held by the index
+     */
+    long memoryEstimate() {
+        long bytes = 0;
+        for (IdList ids : postings.values()) {
+            // map entry and boxed key, plus the posting list
+            bytes += 32 + 16 + ids.memoryEstimate();
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the distinct trigrams of text, each packed into a long
+     *
+     * @param text text to split
+     */
+    private static long[] grams(String text) {
+        if (text.length() < GRAM_LENGTH) {
+            return new long[0];
+        }
+        long[] grams = new long[text.length() - GRAM_LENGTH + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (distinct == 0 || grams[distinct - 1] != grams[i]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+}
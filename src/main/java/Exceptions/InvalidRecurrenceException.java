@@ -0,0 +1,7 @@
+package Exceptions;
+
+public class InvalidRecurrenceException extends Exception {
+    public InvalidRecurrenceException(String message) {
+        super(message);
+    }
+}
@@ -1,40 +1,71 @@
 package Main;
 
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.Node;
 import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Circle;
 
-import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * The DialogBox class represents a custom control for displaying user input and Duke's responses in a dialog box.
  * It handles the display of both text and images, with an option to flip the dialog box to position the image
  * on either side. The profile picture of each dialog can be displayed as a circular image.
+ * The nodes are built in code instead of loading an FXML file for every message, and
+ * the images are loaded once and shared by all dialog boxes.
  */
 public class DialogBox extends HBox {
 
-    @FXML
-    private Label dialog;
+    // Predefined images for different emotions
+    private static final Image sadJoy = loadImage("/images/sadJoy.png");
+    private static final Image angryJoy = loadImage("/images/angryJoy.png");
+    private static final Image anxiousJoy = loadImage("/images/Anxiety.png");
+    private static final Image happyJoy = loadImage("/images/happyJoy.png");
+    private static final Image dukeImage = loadImage("/images/Joy.png");
 
+    private static final String STYLESHEET = DialogBox.class.getResource("/css/dialog-box.css").toExternalForm();
 
-    @FXML
-    private Circle displayPicture;
+    // fill of every image shown so far, only used on the FX thread
+    private static final Map<Image, ImagePattern> patterns = new HashMap<>();
 
-    // Predefined images for different emotions
-    private Image sadJoy = new Image(this.getClass().getResourceAsStream("/images/sadJoy.png"));
-    private Image angryJoy = new Image(this.getClass().getResourceAsStream("/images/angryJoy.png"));
-    private Image anxiousJoy = new Image(this.getClass().getResourceAsStream("/images/Anxiety.png"));
-    private Image happyJoy = new Image(this.getClass().getResourceAsStream("/images/happyJoy.png"));
-    private Image dukeImage = new Image(this.getClass().getResourceAsStream("/images/Joy.png"));
+    // style classes of the label as built, restored before the box shows another message
+    private static final List<String> BASE_STYLE_CLASSES = List.of("label");
+
+    private final Label dialog = new Label();
+
+    private final Circle displayPicture = new Circle(40);  // Adjust the radius as needed
+
+
+    /**
+     * Constructs an empty DialogBox, to be filled by one of the show methods.
+     * List cells keep one and reuse it for every message they display.
+     */
+    public DialogBox() {
+        this.getStylesheets().add(STYLESHEET);
+        this.setAlignment(Pos.TOP_RIGHT);
+        this.setMaxWidth(Double.MAX_VALUE);
+        this.setPrefWidth(400.0);
+        this.setPadding(new Insets(15.0, 5.0, 15.0, 5.0));
+
+        dialog.setWrapText(true);
+        dialog.setMinHeight(Region.USE_PREF_SIZE);
+        dialog.setPadding(new Insets(4.0, 4.0, 5.0, 5.0));
+        HBox.setMargin(dialog, new Insets(0, 7.0, 0, 7.0));
+
+        // Create a circle and set the ImagePattern to display the profile picture
+        displayPicture.setId("displayPicture");
 
+        this.getChildren().setAll(dialog, displayPicture);
+    }
 
     /**
      * Constructs a DialogBox object that displays the specified text and image.
@@ -44,19 +75,78 @@ public class DialogBox extends HBox {
      * @param i The image to display as the profile picture.
      */
     public DialogBox(String s, Image i) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        this();
+        show(s, i);
+    }
+
+    /**
+     * Returns the image at path in the resources, loaded once for all dialog boxes
+     *
+     * @param path The resource path of the image.
+     */
+    static Image loadImage(String path) {
+        return new Image(DialogBox.class.getResourceAsStream(path));
+    }
+
+    /**
+     * Returns the fill showing image in a circle, created once per image
+     *
+     * @param image The image to display.
+     */
+    private static ImagePattern patternOf(Image image) {
+        return patterns.computeIfAbsent(image, ImagePattern::new);
+    }
+
+    /**
+     * Shows text and image with the label style and layout the box was loaded with
+     *
+     * @param s The text to display in the dialog.
+     * @param i The image to display as the profile picture.
+     */
+    private void show(String s, Image i) {
+        dialog.getStyleClass().setAll(BASE_STYLE_CLASSES);
+        this.setAlignment(Pos.TOP_RIGHT);
+        this.getChildren().setAll(dialog, displayPicture);
 
         dialog.setText(s);
-        // Create a circle and set the ImagePattern to display the profile picture
-        displayPicture.setRadius(40);  // Adjust the radius as needed
-        displayPicture.setFill(new ImagePattern(i));  // Set the image in the circle
+        displayPicture.setFill(patternOf(i));  // Set the image in the circle
+    }
+
+    /**
+     * Shows a message typed by the user
+     *
+     * @param s The text to display.
+     * @param i The user's profile picture.
+     */
+    void showUser(String s, Image i) {
+        show(s, i);
+        dialog.getStyleClass().add("user-label");
+    }
+
+    /**
+     * Shows an error message, styled to indicate an error
+     *
+     * @param message The error message to display.
+     * @param image The image to display as the profile picture.
+     */
+    void showError(String message, Image image) {
+        show(message, image);
+        applyErrorStyle();
+        flip(); // If needed to position the image correctly
+    }
+
+    /**
+     * Shows a reply, styled by the type of command executed
+     *
+     * @param text The text to display.
+     * @param img The initial image to display.
+     * @param commandType The type of command executed by the user.
+     */
+    void showReply(String text, Image img, String commandType) {
+        show(text, img);
+        // Update the existing dialog style and image
+        changeDialogStyle(commandType);
+        flip();
     }
 
 
@@ -69,9 +159,8 @@ public class DialogBox extends HBox {
      * @return A DialogBox representing an error message.
      */
     public static DialogBox getErrorDialog(String message, Image image) {
-        var db = new DialogBox(message, image);
-        db.applyErrorStyle();
-        db.flip(); // If needed to position the image correctly
+        var db = new DialogBox();
+        db.showError(message, image);
         return db;
     }
 
@@ -107,8 +196,8 @@ public class DialogBox extends HBox {
      * @return A DialogBox representing the user's input.
      */
     public static DialogBox getUserDialog(String s, Image i) {
-        var db = new DialogBox(s, i);
-        db.dialog.getStyleClass().add("user-label");
+        var db = new DialogBox();
+        db.showUser(s, i);
         return db;
     }
 
@@ -125,26 +214,26 @@ public class DialogBox extends HBox {
             case "DeadlineCommand":
             case "EventCommand":
                 dialog.getStyleClass().add("add-label");
-                displayPicture.setFill(new ImagePattern(sadJoy));
+                displayPicture.setFill(patternOf(sadJoy));
                 break;
             case "MarkCommand":
                 dialog.getStyleClass().add("marked-label");
-                displayPicture.setFill(new ImagePattern(happyJoy));
+                displayPicture.setFill(patternOf(happyJoy));
                 break;
             case "DeleteCommand":
                 dialog.getStyleClass().add("delete-label");
-                displayPicture.setFill(new ImagePattern(happyJoy));
+                displayPicture.setFill(patternOf(happyJoy));
                 break;
             case "UnmarkCommand":
                 dialog.getStyleClass().add("unmark-label");
-                displayPicture.setFill(new ImagePattern(angryJoy));
+                displayPicture.setFill(patternOf(angryJoy));
                 break;
             case "DueCommand":
                 dialog.getStyleClass().add("due-label");
-                displayPicture.setFill(new ImagePattern(anxiousJoy));
+                displayPicture.setFill(patternOf(anxiousJoy));
                 break;
             default:
-                displayPicture.setFill(new ImagePattern(dukeImage));
+                displayPicture.setFill(patternOf(dukeImage));
                 break;
         }
     }
@@ -159,10 +248,8 @@ public class DialogBox extends HBox {
      * @return A DialogBox representing Duke's response with the appropriate style and image.
      */
     public static DialogBox getEmoteXDialog(String text, Image img, String commandType) {
-        var db = new DialogBox(text, img);
-        // Update the existing dialog style and image
-        db.changeDialogStyle(commandType);
-        db.flip();
+        var db = new DialogBox();
+        db.showReply(text, img, commandType);
         return db;
     }
 }
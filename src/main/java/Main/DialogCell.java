@@ -0,0 +1,45 @@
+package Main;
+
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+
+/**
+ * List cell showing one DialogEntry.
+ * The list view only creates cells for the rows on screen and hands them new entries
+ * as it scrolls, so each cell keeps a single DialogBox and restyles it.
+ */
+class DialogCell extends ListCell<DialogEntry> {
+    // room left for the scroll bar, so the dialog never needs a horizontal one
+    private static final double SCROLL_BAR_WIDTH = 20;
+
+    private final DialogBox dialogBox = new DialogBox();
+
+    DialogCell(ListView<DialogEntry> listView) {
+        dialogBox.prefWidthProperty().bind(listView.widthProperty().subtract(SCROLL_BAR_WIDTH));
+        dialogBox.maxWidthProperty().bind(listView.widthProperty().subtract(SCROLL_BAR_WIDTH));
+        setPrefWidth(0);
+    }
+
+    @Override
+    protected void updateItem(DialogEntry entry, boolean empty) {
+        super.updateItem(entry, empty);
+        setText(null);
+        if (empty || entry == null) {
+            setGraphic(null);
+            return;
+        }
+
+        switch (entry.getKind()) {
+            case USER:
+                dialogBox.showUser(entry.getText(), entry.getImage());
+                break;
+            case ERROR:
+                dialogBox.showError(entry.getText(), entry.getImage());
+                break;
+            default:
+                dialogBox.showReply(entry.getText(), entry.getImage(), entry.getCommandType());
+                break;
+        }
+        setGraphic(dialogBox);
+    }
+}
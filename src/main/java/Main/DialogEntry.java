@@ -0,0 +1,81 @@
+package Main;
+
+import javafx.scene.image.Image;
+
+/**
+ * One message of the conversation shown in MainWindow.
+ * Only the text and how to show it are kept for each message, the DialogBox
+ * nodes that display them are created once per visible row and reused.
+ */
+public class DialogEntry {
+
+    /**
+     * Who a message comes from, which decides how it is styled
+     */
+    enum Kind {
+        USER, ERROR, REPLY
+    }
+
+    private final Kind kind;
+    private final String text;
+    private final Image image;
+    private final String commandType;
+
+    private DialogEntry(Kind kind, String text, Image image, String commandType) {
+        this.kind = kind;
+        this.text = text;
+        this.image = image;
+        this.commandType = commandType;
+    }
+
+    /**
+     * Returns a message typed by the user
+     *
+     * @param text The text typed.
+     * @param image The user's profile picture.
+     */
+    public static DialogEntry user(String text, Image image) {
+        return new DialogEntry(Kind.USER, text, image, null);
+    }
+
+    /**
+     * Returns an error reply
+     *
+     * @param text The error message.
+     * @param image The profile picture to display.
+     */
+    public static DialogEntry error(String text, Image image) {
+        return new DialogEntry(Kind.ERROR, text, image, null);
+    }
+
+    /**
+     * Returns a reply to a command, styled by the type of command
+     *
+     * @param text The reply.
+     * @param image The profile picture to display.
+     * @param commandType The simple class name of the command executed.
+     */
+    public static DialogEntry reply(String text, Image image, String commandType) {
+        return new DialogEntry(Kind.REPLY, text, image, commandType);
+    }
+
+    //getter
+    Kind getKind() {
+        return kind;
+    }
+
+    //getter
+    String getText() {
+        return text;
+    }
+
+    //getter
+    Image getImage() {
+        return image;
+    }
+
+    //getter
+    String getCommandType() {
+        return commandType;
+    }
+}
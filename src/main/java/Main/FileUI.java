@@ -5,6 +5,7 @@ import java.io.IOException;
 
 public class FileUI {
     public static final String FILE_PATH = "./data/flash.txt";
+    public static final String JOURNAL_PATH = "./data/flash.journal";
 
     /**
      * Creates new file if file does not exist
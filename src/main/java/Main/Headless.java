@@ -0,0 +1,150 @@
+package Main;
+
+import Commands.Command;
+import Data.Storage;
+import Data.StoreList;
+import Exceptions.InvalidIndexException;
+import Exceptions.UnknownCommandException;
+import Parser.Parser;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Runs a script of commands without starting JavaFX, one command per line,
+ * read from the file given or from stdin, and prints every reply to stdout.
+ * Commands go through the same parser and store list as the window.
+ *
+ * Changes are not journaled one by one here, the task file is written once at the end
+ * of the script, or after every N changing commands with --every N, so bulk imports run
+ * at full speed. A script of read-only commands never writes the file.
+ * Reminders of deadlines due soon are printed before the command that follows them.
+ * Usage: Headless [--every N] [script]
+ */
+public class Headless {
+    private static final String LINE = "    __________________________________________";
+
+    private final StoreList storeList;
+    private final PrintWriter out;
+
+    //changing commands between writes of the task file, 0 writes once at the end
+    private final int saveEvery;
+
+    private int changesSinceSave;
+
+    /**
+     * Creates a runner over the store list that prints replies to out
+     *
+     * @param storeList tasks the commands run against
+     * @param out where replies are printed
+     * @param saveEvery changing commands between writes of the task file, 0 for once at the end
+     */
+    public Headless(StoreList storeList, PrintWriter out, int saveEvery) {
+        this.storeList = storeList;
+        this.out = out;
+        this.saveEvery = saveEvery;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int saveEvery = 0;
+        String script = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--every") && i + 1 < args.length) {
+                saveEvery = Math.max(0, Integer.parseInt(args[++i]));
+            } else {
+                script = args[i];
+            }
+        }
+
+        StoreList storeList = new StoreList(Storage.loadTasks());
+        storeList.enableReminders(LocalDateTime.now());
+        PrintWriter out = new PrintWriter(new BufferedWriter(
+                new OutputStreamWriter(System.out, StandardCharsets.UTF_8)));
+        Reader in = script == null
+                ? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+                : new FileReader(script, StandardCharsets.UTF_8);
+
+        try (BufferedReader reader = new BufferedReader(in)) {
+            new Headless(storeList, out, saveEvery).run(reader);
+        } finally {
+            out.flush();
+        }
+    }
+
+    /**
+     * Runs every command read until the input ends or an exit command,
+     * then writes the task file if the list changed since the last write
+     *
+     * @param reader script to run, one command per line
+     */
+    public void run(BufferedReader reader) throws IOException {
+        String userText;
+        while ((userText = reader.readLine()) != null) {
+            if (userText.isBlank()) {
+                continue;
+            }
+            printDueReminders();
+            Command command = Parser.makeSenseOfUserInput(userText);
+            out.println(LINE);
+            out.println(runCommand(command));
+            out.println(LINE);
+
+            if (command.isMutating()) {
+                changesSinceSave++;
+            }
+            if (saveEvery > 0 && changesSinceSave >= saveEvery) {
+                save();
+            }
+            if (command.isExit()) {
+                break;
+            }
+        }
+        save();
+    }
+
+    /**
+     * Prints the deadlines due soon whose reminders came up since the last command
+     */
+    private void printDueReminders() {
+        String reminderText = storeList.dueReminders(LocalDateTime.now());
+        if (!reminderText.isEmpty()) {
+            out.println(LINE);
+            out.println(reminderText);
+            out.println(LINE);
+        }
+    }
+
+    /**
+     * Executes a command and returns its reply, or the error message if it failed
+     *
+     * @param command parsed command to run
+     */
+    private String runCommand(Command command) {
+        try {
+            command.setData(storeList);
+            return command.execute();
+        } catch (InvalidIndexException | UnknownCommandException e) {
+            return e.getMessage();
+        } catch (RuntimeException e) {
+            // one bad line should not stop the rest of the script
+            return "OOPS!!! Something went wrong: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Writes the whole list to the task file, skipped by storage if nothing changed
+     */
+    private void save() {
+        out.flush();
+        Storage.saveTasksToFile(storeList);
+        changesSinceSave = 0;
+    }
+}
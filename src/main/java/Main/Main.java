@@ -22,6 +22,8 @@ public class Main extends Application {
     private Parser parser = new Parser();
     Image title = new Image(this.getClass().getResourceAsStream("/images/Title.png"));
 
+    private MainWindow mainWindow;
+
     /**
      * The start method is called when the JavaFX application is launched.
      * It sets up the primary stage by loading the FXML layout and configuring
@@ -46,7 +48,10 @@ public class Main extends Application {
             stage.setTitle("EmoteX");
 
             // Inject the parser and store list into the MainWindow controller
-            fxmlLoader.<MainWindow>getController().setEmoteX(parser, new StoreList(Storage.loadTasks()));  // inject the Duke instance
+            StoreList storeList = new StoreList(Storage.loadTasks());
+            storeList.setJournal(Storage.getJournal());
+            mainWindow = fxmlLoader.<MainWindow>getController();
+            mainWindow.setEmoteX(parser, storeList);  // inject the Duke instance
 
             // Display the stage
             stage.show();
@@ -54,4 +59,16 @@ public class Main extends Application {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Waits for entered commands to finish and their task writes to reach the disk
+     * before the application exits.
+     */
+    @Override
+    public void stop() {
+        if (mainWindow != null) {
+            mainWindow.shutdown();
+        }
+        Storage.flush();
+    }
 }
\ No newline at end of file
@@ -6,30 +6,45 @@ import Data.StoreList;
 import Exceptions.InvalidIndexException;
 import Exceptions.UnknownCommandException;
 import Parser.Parser;
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.ContentDisplay;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import javafx.scene.layout.VBox;
 import javafx.scene.layout.AnchorPane;
 
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
 /**
  * The MainWindow class is responsible for managing the main user interface of the application.
- * It handles user interactions, processes commands, and updates the dialog container with responses.
+ * It handles user interactions, processes commands, and updates the dialog list with responses.
  * It integrates the user interface with the parser and storage systems for managing tasks.
+ * The dialog list only creates nodes for the messages on screen, so long sessions stay fast.
  */
 public class MainWindow extends AnchorPane{
 
-    private Image userImage = new Image(this.getClass().getResourceAsStream("/images/user.png"));
-    private Image EmoteXImage = new Image(this.getClass().getResourceAsStream("/images/Joy.png"));
+    //most messages kept in the dialog list, older ones are dropped, 0 keeps all
+    private static final int DEFAULT_HISTORY_CAP = 1000;
+
+    //longest wait for entered commands to finish when the app closes
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private static final Image userImage = DialogBox.loadImage("/images/user.png");
+    private static final Image EmoteXImage = DialogBox.loadImage("/images/Joy.png");
 
     @FXML
-    private ScrollPane scrollPane;
+    private ListView<DialogEntry> dialogList;
     @FXML
-    private VBox dialogContainer;
+    private ProgressIndicator pendingIndicator;
     @FXML
     private TextField userInput;
     @FXML
@@ -40,16 +55,34 @@ public class MainWindow extends AnchorPane{
 
     private StoreList storeList;
 
-    private String commandType;
+    //runs commands one at a time, in the order they were entered
+    private final ExecutorService commandRunner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "command-runner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    //commands entered whose reply is not shown yet, only used on the FX thread
+    private int pendingCommands;
+
+    //checks for due reminders once a minute, the check itself runs on the command thread
+    private final ScheduledExecutorService reminderTicker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reminder-ticker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private int historyCap = DEFAULT_HISTORY_CAP;
 
     /**
-     * Initializes the MainWindow by binding the scroll pane's vertical value to
-     * the height property of the dialog container and setting up the send button's
-     * graphic with an image.
+     * Initializes the MainWindow by setting up the cells of the dialog list and
+     * the send button's graphic with an image.
      */
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        dialogList.setCellFactory(listView -> new DialogCell(listView));
+        dialogList.setFocusTraversable(false);
+        pendingIndicator.setVisible(false);
         ImageView imageView = new ImageView(getClass().getResource("/images/MemoryBall.png").toExternalForm());
         sendButton.setGraphic(imageView);
         sendButton.setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
@@ -62,6 +95,7 @@ public class MainWindow extends AnchorPane{
     /**
      * Injects the parser and the store list into the MainWindow.
      * These will be used to process user commands and manage task data.
+     * Also starts the reminders of upcoming deadlines.
      *
      * @param parser The parser responsible for interpreting user input.
      * @param storeList The list of tasks to be managed.
@@ -69,50 +103,121 @@ public class MainWindow extends AnchorPane{
     public void setEmoteX(Parser parser, StoreList storeList) {
         this.parser = parser;
         this.storeList = storeList;
+        commandRunner.execute(() -> storeList.enableReminders(LocalDateTime.now()));
+        reminderTicker.scheduleAtFixedRate(
+                () -> commandRunner.execute(this::showDueReminders), 0, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Shows the deadlines due soon whose reminders came up since the last check.
+     * Runs on the command thread, so reminders never race with a command changing the list.
+     */
+    private void showDueReminders() {
+        String reminderText = storeList.dueReminders(LocalDateTime.now());
+        if (!reminderText.isEmpty()) {
+            Platform.runLater(() -> addDialogs(DialogEntry.reply(reminderText, EmoteXImage, "DueCommand")));
+        }
+    }
+
+    /**
+     * Sets the most messages kept in the dialog list, 0 to keep every message
+     *
+     * @param historyCap The number of messages to keep.
+     */
+    public void setHistoryCap(int historyCap) {
+        this.historyCap = historyCap;
+        trimHistory();
+    }
+
+    /**
+     * Adds messages to the end of the dialog list, drops the oldest ones past the
+     * history cap and scrolls to the newest
+     *
+     * @param entries The messages to add.
+     */
+    private void addDialogs(DialogEntry... entries) {
+        dialogList.getItems().addAll(entries);
+        trimHistory();
+        dialogList.scrollTo(dialogList.getItems().size() - 1);
+    }
+
+    private void trimHistory() {
+        ObservableList<DialogEntry> items = dialogList.getItems();
+        if (historyCap > 0 && items.size() > historyCap) {
+            items.remove(0, items.size() - historyCap);
+        }
     }
 
     /**
-     * Handles the user's input by parsing the command, executing it, and displaying
-     * both the user's input and the application's response in the dialog container.
-     * Also saves the updated task list to the storage file.
+     * Handles the user's input by showing it right away and running the command on
+     * the command thread, so a slow command or disk never freezes the window.
+     * Commands run one at a time in the order entered, and each reply is posted back
+     * to the FX thread. A pending indicator shows while any command is still running.
      *
      */
     @FXML
     private void handleUserInput() {
         String userText = userInput.getText();
-        Command EmoteXCommand = parser.makeSenseOfUserInput(userInput.getText());
+        userInput.clear();
+        addDialogs(DialogEntry.user(userText, userImage));
+
+        pendingCommands++;
+        pendingIndicator.setVisible(true);
+        commandRunner.execute(() -> {
+            DialogEntry reply = runCommand(userText);
+            Platform.runLater(() -> {
+                addDialogs(reply);
+                pendingCommands--;
+                pendingIndicator.setVisible(pendingCommands > 0);
+            });
+        });
+    }
+
+    /**
+     * Parses and executes a command on the command thread and returns the reply to show.
+     * Mutations are journaled by the store list, the snapshot is only rewritten
+     * once the journal has grown large enough. Read-only commands never touch the disk.
+     *
+     * @param userText The text typed by the user.
+     */
+    private DialogEntry runCommand(String userText) {
+        Command EmoteXCommand = parser.makeSenseOfUserInput(userText);
         String EmoteXText;
         try {
             EmoteXCommand.setData(storeList);
             EmoteXText = EmoteXCommand.execute();
-            commandType = EmoteXCommand.getClass().getSimpleName();
-            Storage.saveTasksToFile(storeList.getItems());
+            String commandType = EmoteXCommand.getClass().getSimpleName();
+            if (EmoteXCommand.isMutating()) {
+                Storage.compactIfNeeded(storeList);
+            }
 
             if (EmoteXText.startsWith("OOPS!!!")) {
                 // Display error dialog
-                dialogContainer.getChildren().addAll(
-                        DialogBox.getUserDialog(userText, userImage),
-                        DialogBox.getErrorDialog(EmoteXText, EmoteXImage) // Show error message
-                );
-            } else {
-
-                // Display both user input and the command output in the dialog box
-                dialogContainer.getChildren().addAll(
-                        DialogBox.getUserDialog(userText, userImage),
-                        DialogBox.getEmoteXDialog(EmoteXText, EmoteXImage, commandType)
-                );
+                return DialogEntry.error(EmoteXText, EmoteXImage);
             }
+            // Display the command output in the dialog box
+            return DialogEntry.reply(EmoteXText, EmoteXImage, commandType);
 
         } catch (InvalidIndexException | UnknownCommandException e) {
             // Display error dialog
-            dialogContainer.getChildren().addAll(
-                    DialogBox.getUserDialog(userText, userImage),
-                    DialogBox.getErrorDialog(e.getMessage(), EmoteXImage) // Show error message
-            );
+            return DialogEntry.error(e.getMessage(), EmoteXImage);
+        } catch (RuntimeException e) {
+            // keep the window usable, the pending indicator would otherwise never clear
+            return DialogEntry.error("OOPS!!! Something went wrong: " + e.getMessage(), EmoteXImage);
         }
+    }
 
-
-        userInput.clear();
+    /**
+     * Lets commands already entered finish, then stops the command thread
+     */
+    public void shutdown() {
+        reminderTicker.shutdownNow();
+        commandRunner.shutdown();
+        try {
+            commandRunner.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
-}
\ No newline at end of file
+}
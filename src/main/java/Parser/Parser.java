@@ -30,7 +30,7 @@ public class Parser {
         }
 
         //if user inputs list, display tasks and update file
-        else if (userInput.equals("list")) {
+        else if (words[0].equals("list")) {
             return new ListCommand(userInput);
         }
 
@@ -71,20 +71,45 @@ public class Parser {
         } else if (words[0].equals("update")) {
             return new UpdateCommand(userInput);
 
+            //if user inputs next, show the next deadlines
+        } else if (words[0].equals("next")) {
+            return new NextCommand(userInput);
+
+            //if user inputs stats, show list size and memory use
+        } else if (userInput.equals("stats")) {
+            return new StatsCommand(userInput);
+
+            //if user inputs conflicts, show clashing events
+        } else if (words[0].equals("conflicts")) {
+            return new ConflictsCommand(userInput);
+
+            //if user inputs free, show free time between events
+        } else if (words[0].equals("free")) {
+            return new FreeCommand(userInput);
+
         } else {
             return new DefaultCommand(" OOPS!!! Sorry leh, but IDK what that means :-\n" +
                     "\nThese are the list of commands you can use:)\n" +
                     "\n- todo [desc] (to add a todo task)\n" +
                     "- deadline [desc] /by [yyyy-MM-dd or dd/MM/yyy 16:00] (to add a deadline task)\n" +
                     "- event [desc] /from [16:00] /to [18:00] /on [yyyy-MM-dd or dd/MM/yyyy] (to add an event)\n" +
+                    "- deadline or event ... /every [num] [day, week or month] [until date or count num] (to repeat it)\n" +
                     "- mark [index num] (to mark task as completed)\n" +
                     "- unmark [index num] (to unmark completed task)\n" +
                     "- delete [index num] (to delete a task)\n" +
+                    "- mark, unmark or delete [1-5,7 or done, undone, all] (to change many tasks at once)\n" +
                     "- list (to view all tasks)\n" +
+                    "- list [page num] or list --from [task num] --limit [num] (to view some tasks)\n" +
                     "- find [keywords] (to find tasks with keyword)\n" +
+                    "- find /all or /any [words] (to find tasks with all or any of the words)\n" +
+                    "- stats (to view list size and memory use)\n" +
                     "- bye\n" +
                     "- hi\n" +
                     "- due [yyyy-MM-dd or dd/MM/yyyy] (find tasks due on date)\n" +
+                    "- due [date]..[date] (find tasks due between two dates)\n" +
+                    "- conflicts [yyyy-MM-dd or dd/MM/yyyy] (find clashing events on date, or on any date)\n" +
+                    "- free [date] or [date]..[date] [duration like 1h30m] (find free time between events)\n" +
+                    "- next [num] (to view your next deadlines)\n" +
                     "- update <num> <desc, date, startTime, endTime, time> /to <newValue> (to update task info)\n");
         }
     }
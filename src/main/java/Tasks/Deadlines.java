@@ -2,21 +2,28 @@ package Tasks;
 
 import Exceptions.EmptyDeadlineDateException;
 import Exceptions.EmptyDeadlineException;
+import Exceptions.InvalidRecurrenceException;
 
 import java.time.LocalDateTime;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.time.temporal.Temporal;
 
 // Deadline class
 public class Deadlines extends Task {
+    //formatters are immutable and thread safe, so they are built once
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("MMM dd yyyy, h:mm a");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMM dd yyyy");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("h:mm a");
+
     String taskDesc;
 
     private LocalDateTime localDateTime; // Stores full date and time
     private LocalDate localDate; // Stores date only
     private LocalTime localTime; // Stores time only
     private String rawDeadline; // Stores the raw string if it doesn't match any format
+    private Recurrence recurrence; // Stores how often it repeats, null if it does not
 
     /**
      * Calls constructor of super class
@@ -26,8 +33,29 @@ public class Deadlines extends Task {
      * @throws EmptyDeadlineException If desc is empty.
      * @throws EmptyDeadlineDateException if split desc string has < 2 parts(no date)
      * or second part(date) is empty
+     * @throws InvalidRecurrenceException if the part after /every is not a recurrence
+     * or the deadline has no date to repeat from
+     */
+    public Deadlines(String desc) throws EmptyDeadlineException, EmptyDeadlineDateException,
+            InvalidRecurrenceException {
+        this(desc, false);
+    }
+
+    /**
+     * Calls constructor of super class
+     * a desc read back from storage may have been saved before tasks could repeat,
+     * so a part after /every that is not a recurrence is kept as part of its deadline
+     *
+     * @param desc of task
+     * @param isStored true if desc was read from the task file or journal
+     * @throws EmptyDeadlineException If desc is empty.
+     * @throws EmptyDeadlineDateException if split desc string has < 2 parts(no date)
+     * or second part(date) is empty
+     * @throws InvalidRecurrenceException if desc is not stored and the part after /every
+     * is not a recurrence or the deadline has no date to repeat from
      */
-    public Deadlines(String desc) throws EmptyDeadlineException, EmptyDeadlineDateException {
+    public Deadlines(String desc, boolean isStored) throws EmptyDeadlineException, EmptyDeadlineDateException,
+            InvalidRecurrenceException {
         super(desc);
 
         //throw exception if task desc not given
@@ -38,8 +66,57 @@ public class Deadlines extends Task {
                             "deadline read book /by yyyy-MM-dd or dd/MM/yyy 16:00");
         }
 
+        // how often it repeats comes last, after /every
+        String[] repeat = desc.split(" /every ", 2);
+        try {
+            parseDesc(repeat[0], repeat.length == 2 ? repeat[1] : null);
+        } catch (EmptyDeadlineDateException | InvalidRecurrenceException e) {
+            if (!isStored || repeat.length < 2) {
+                throw e;
+            }
+            // saved before tasks could repeat, so /every is just text of the deadline
+            localDateTime = null;
+            localDate = null;
+            localTime = null;
+            rawDeadline = null;
+            recurrence = null;
+            parseDesc(desc, null);
+        }
+    }
+
+    /**
+     * Creates a deadline from fields that were already parsed when it was stored,
+     * so no date formats have to be tried again
+     *
+     * @param desc full desc of task as typed
+     * @param taskDesc desc before the /by part
+     * @param localDateTime parsed date and time, or null
+     * @param localDate parsed date, or null
+     * @param localTime parsed time, or null
+     * @param rawDeadline deadline that matched no format, or null
+     * @param recurrence how often it repeats, or null
+     */
+    public Deadlines(String desc, String taskDesc, LocalDateTime localDateTime, LocalDate localDate,
+                     LocalTime localTime, String rawDeadline, Recurrence recurrence) {
+        super(desc);
+        this.taskDesc = taskDesc;
+        this.localDateTime = localDateTime;
+        this.localDate = localDate;
+        this.localTime = localTime;
+        this.rawDeadline = rawDeadline;
+        this.recurrence = recurrence;
+    }
+
+    /**
+     * Parses the title and deadline from body and the recurrence from spec
+     *
+     * @param body desc before the /every part
+     * @param spec part after /every, or null if it does not repeat
+     */
+    private void parseDesc(String body, String spec) throws EmptyDeadlineDateException,
+            InvalidRecurrenceException {
         //throw exception if date not given
-        String[] parts = desc.split(" /by ");
+        String[] parts = body.split(" /by ");
         if (parts.length < 2 || parts[1].trim().isEmpty()) {
             throw new EmptyDeadlineDateException
                     ("OOPS!!! Deadline date not given leh! " +
@@ -50,77 +127,75 @@ public class Deadlines extends Task {
         this.taskDesc = parts[0];
 
         parseDeadline(parts);
+
+        if (spec != null) {
+            recurrence = Recurrence.parse(spec);
+            recurrence.checkFirstDate(getLocalDate());
+        }
     }
 
     /**
-     * Parses the deadline date and time from the provided description string and
-     * attempts to convert it into `LocalDateTime`, `LocalDate`, or `LocalTime` objects.
-     * If the first format fails, it will try other formats until it either succeeds
-     * or stores the raw deadline string.
+     * Parses the deadline date and time from the provided description string into
+     * `LocalDateTime`, `LocalDate` or `LocalTime` objects in a single pass, storing the
+     * raw deadline string if it matches no format.
      *
      * @param parts The array containing the task description and deadline string.
      */
     private void parseDeadline(String[] parts) {
-        try {
-            // input of format 2020-12-10 16:00
-            localDateTime = ParseTasks.parseDateTimeFormat1(parts[1]);
-
-        } catch (DateTimeParseException e1) {
-            try {
-                // input of format 2020-12-10
-                localDate = ParseTasks.parseDateFormat1(parts[1]);
-
-            } catch (DateTimeParseException e2) {
-                try {
-                    // input of format 10/12/2020
-                    localDate = ParseTasks.parseDateFormat2(parts[1]);
-
-                } catch (DateTimeParseException e3) {
-                    try {
-                        // input of format 10/12/2020 16:00
-                        localDateTime = ParseTasks.parseDateTimeFormat2(parts[1]);
-
-                    } catch (DateTimeParseException e4) {
-                        try {
-                            // input of format 16:00
-                            localTime = ParseTasks.parseTime(parts[1]);
-
-                        } catch (DateTimeParseException e5) {
-                            // if wrong format, just print the string
-                            rawDeadline = parts[1];
-                        }
-                    }
-                }
-            }
+        // input of format 2020-12-10 16:00 || 10/12/2020 16:00 || 2020-12-10 || 10/12/2020 || 16:00
+        Temporal deadline = ParseTasks.parseDeadline(parts[1]);
+
+        if (deadline instanceof LocalDateTime) {
+            localDateTime = (LocalDateTime) deadline;
+        } else if (deadline instanceof LocalDate) {
+            localDate = (LocalDate) deadline;
+        } else if (deadline instanceof LocalTime) {
+            localTime = (LocalTime) deadline;
+        } else {
+            // if wrong format, just print the string
+            rawDeadline = parts[1];
         }
     }
 
     /**
-     * Returns string representation of deadline in word formats
+     * Returns string representation of deadline in word formats,
+     * rendered from the fields parsed when the deadline was created
+     *
+     */
+    @Override
+    protected String render() {
+        return renderOn(getLocalDate());
+    }
+
+    /**
+     * Returns string representation of the occurrence on date, for a deadline that repeats
      *
+     * @param date date of the occurrence
      */
     @Override
-    public String print() {
-        //splits string to get the due date
-        String[] parts = super.print().split(" /by ");
+    public String printOn(LocalDate date) {
+        return recurrence == null ? print() : renderOn(date);
+    }
+
+    private String renderOn(LocalDate date) {
         String dateTimeEdited = "";
 
         if (localDateTime != null) {
             // input of format 2020-12-10 16:00 || 10/12/2020 16:00 changed to Dec 12 2020, 4:00 pm
-            DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("MMM dd yyyy, h:mm a");
-            dateTimeEdited = localDateTime.format(dateTimeFormatter);
+            dateTimeEdited = LocalDateTime.of(date, localDateTime.toLocalTime()).format(DATE_TIME_FORMATTER);
         } else if (localDate != null) {
             // input of format 2020-12-10 || 10/12/2020 changed to Dec 12 2020
-            DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("MMM dd yyyy");
-            dateTimeEdited = localDate.format(dateTimeFormatter);
+            dateTimeEdited = date.format(DATE_FORMATTER);
         } else if (localTime != null) {
             // input of format 16:00 || changed to 4:00 pm
-            DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("h:mm a");
-            dateTimeEdited = localTime.format(dateTimeFormatter);
+            dateTimeEdited = localTime.format(TIME_FORMATTER);
         } else if (rawDeadline != null) {
             dateTimeEdited = rawDeadline;
         }
-        return "[D]" + parts[0] + " (by: " + dateTimeEdited + ")";
+        if (recurrence != null) {
+            dateTimeEdited += ", " + recurrence.describe();
+        }
+        return "[D][" + getStatusIcon() + "] " + taskDesc + " (by: " + dateTimeEdited + ")";
     }
 
     /**
@@ -129,6 +204,7 @@ public class Deadlines extends Task {
     @Override
     public void setDate(LocalDate updatedDate) {
         this.localDate = updatedDate;
+        invalidate();
     }
 
     /**
@@ -137,7 +213,7 @@ public class Deadlines extends Task {
     @Override
     public void setDateTime(LocalDateTime updatedDateTime) {
         this.localDateTime = updatedDateTime;
-
+        invalidate();
     }
 
     /**
@@ -146,6 +222,7 @@ public class Deadlines extends Task {
     @Override
     public void setTime(LocalTime updatedDeadlineTime) {
         this.localTime = updatedDeadlineTime;
+        invalidate();
     }
 
     /**
@@ -171,12 +248,44 @@ public class Deadlines extends Task {
     @Override
     public void setDesc(String newValue) {
         if (taskDesc != null) {
-            desc = taskDesc + " /by " + newValue;
+            desc = taskDesc + " /by " + newValue + (recurrence == null ? "" : " /every " + recurrence.getSpec());
         }
+        invalidate();
 
     }
 
 
+    //getter
+    public String getTitle() {
+        return taskDesc;
+    }
+
+    //getter
+    public LocalDateTime getLocalDateTime() {
+        return localDateTime;
+    }
+
+    //getter
+    public LocalDate getStoredDate() {
+        return localDate;
+    }
+
+    //getter
+    public LocalTime getLocalTime() {
+        return localTime;
+    }
+
+    //getter
+    public String getRawDeadline() {
+        return rawDeadline;
+    }
+
+    //getter
+    @Override
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
+
     /**
      * Returns date of deadline task in LocalDate type
      *
@@ -6,30 +6,81 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 
 public class Events extends Task {
+    //formatters are immutable and thread safe, so they are built once
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMM dd yyyy");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("h:mm a");
+
     String taskDesc;
 
     private LocalDate localDate; // Stores date only
     private LocalTime localStartTime; // Stores time only
     private LocalTime localEndTime; // Stores time only
     private String rawDeadline; // Stores the raw string if it doesn't match any format
+    private Recurrence recurrence; // Stores how often it repeats, null if it does not
+
+    /**
+     * Calls constructor of super class
+     *
+     * @throws EmptyEventException       If desc is empty.
+     * @throws EmptyEventTimingException if split desc string has < 2 parts(no time)
+     *                                   or second part(start time) or third part(end time) is empty
+     * @throws InvalidRecurrenceException if the part after /every is not a recurrence
+     *                                    or the event has no date and times to repeat from
+     */
+    public Events(String desc) throws EmptyEventException, EmptyEventTimingException, EmptyEventDateException,
+            InvalidTimeException, InvalidRecurrenceException {
+        this(desc, false);
+    }
 
     /**
      * Calls constructor of super class
+     * a desc read back from storage may have been saved before tasks could repeat,
+     * so a part after /every that is not a recurrence is kept as part of its timing
      *
+     * @param isStored true if desc was read from the task file or journal
      * @throws EmptyEventException       If desc is empty.
      * @throws EmptyEventTimingException if split desc string has < 2 parts(no time)
      *                                   or second part(start time) or third part(end time) is empty
+     * @throws InvalidRecurrenceException if desc is not stored and the part after /every is not
+     *                                    a recurrence or the event has no date and times to repeat from
      */
-    public Events(String desc) throws EmptyEventException, EmptyEventTimingException, EmptyEventDateException, InvalidTimeException {
+    public Events(String desc, boolean isStored) throws EmptyEventException, EmptyEventTimingException,
+            EmptyEventDateException, InvalidTimeException, InvalidRecurrenceException {
         super(desc);
 
-        checkValidityOfEventInput(desc);
+        // how often it repeats comes last, after /every
+        String[] repeat = desc.split(" /every ", 2);
+        try {
+            parseDesc(repeat[0], repeat.length == 2 ? repeat[1] : null);
+        } catch (EmptyEventException | EmptyEventTimingException | EmptyEventDateException
+                 | InvalidTimeException | InvalidRecurrenceException e) {
+            if (!isStored || repeat.length < 2) {
+                throw e;
+            }
+            // saved before tasks could repeat, so /every is just text of the event
+            localDate = null;
+            localStartTime = null;
+            localEndTime = null;
+            rawDeadline = null;
+            recurrence = null;
+            parseDesc(desc, null);
+        }
+    }
+
+    /**
+     * Parses the title and timings from body and the recurrence from spec
+     *
+     * @param body desc before the /every part
+     * @param spec part after /every, or null if it does not repeat
+     */
+    private void parseDesc(String body, String spec) throws EmptyEventException, EmptyEventTimingException,
+            EmptyEventDateException, InvalidTimeException, InvalidRecurrenceException {
+        checkValidityOfEventInput(body);
 
         // Split the description to extract the timings
-        String[] parts1 = desc.split(" /from ");
+        String[] parts1 = body.split(" /from ");
         String[] parts2 = parts1[1].split(" /to ");
         String[] parts3 = parts2[1].split(" /on ");
 
@@ -40,6 +91,33 @@ public class Events extends Task {
 
         checkValidityOfTimeInput();
 
+        if (spec != null) {
+            recurrence = Recurrence.parse(spec);
+            recurrence.checkFirstDate(localDate);
+        }
+    }
+
+    /**
+     * Creates an event from fields that were already parsed when it was stored,
+     * so no date formats have to be tried again
+     *
+     * @param desc full desc of task as typed
+     * @param taskDesc desc before the /from part
+     * @param localDate parsed date, or null
+     * @param localStartTime parsed start time, or null
+     * @param localEndTime parsed end time, or null
+     * @param rawDeadline timing that matched no format, or null
+     * @param recurrence how often it repeats, or null
+     */
+    public Events(String desc, String taskDesc, LocalDate localDate, LocalTime localStartTime,
+                  LocalTime localEndTime, String rawDeadline, Recurrence recurrence) {
+        super(desc);
+        this.taskDesc = taskDesc;
+        this.localDate = localDate;
+        this.localStartTime = localStartTime;
+        this.localEndTime = localEndTime;
+        this.rawDeadline = rawDeadline;
+        this.recurrence = recurrence;
     }
 
     /**
@@ -71,38 +149,24 @@ public class Events extends Task {
     }
 
     /**
-     * Parses the event date and time from the provided description strings and
-     * attempts to convert them into `LocalDate` and `LocalTime` objects.
-     * If the first format fails, it will try a second format, and if that fails,
-     * it stores the raw deadline string instead.
+     * Parses the event date and time from the provided description strings into
+     * `LocalDate` and `LocalTime` objects, without throwing on a bad format.
+     * If either date format does not match, it stores the raw deadline string instead.
      *
      * @param parts2 The array containing the start and end time strings.
      * @param parts3 The array containing the end time and date strings.
      */
     private void parseEvent(String[] parts2, String[] parts3) {
-        try {
-
-            //input of format 16:00
-            localStartTime = ParseTasks.parseTime(parts2[0]);
-            localEndTime = ParseTasks.parseTime(parts3[0]);
+        //input of format 16:00
+        localStartTime = ParseTasks.parseTimeOrNull(parts2[0]);
+        localEndTime = localStartTime == null ? null : ParseTasks.parseTimeOrNull(parts3[0]);
 
-            // input of format 2020-12-10
-            localDate = ParseTasks.parseDateFormat1(parts3[1]);
+        // input of format 2020-12-10 || 10/12/2020
+        localDate = localEndTime == null ? null : ParseTasks.parseDateOrNull(parts3[1]);
 
-        } catch (DateTimeParseException e1) {
-            try {
-
-                //input of format 16:00
-                localStartTime = ParseTasks.parseTime(parts2[0]);
-                localEndTime = ParseTasks.parseTime(parts3[0]);
-
-                // input of format 10/12/2020
-                localDate = ParseTasks.parseDateFormat2(parts3[1]);
-
-            } catch (DateTimeParseException e2) {
-                // if wrong format, just print the string
-                rawDeadline = parts2[0];
-            }
+        if (localDate == null) {
+            // if wrong format, just print the string
+            rawDeadline = parts2[0];
         }
     }
 
@@ -157,38 +221,48 @@ public class Events extends Task {
     }
 
 
+    /**
+     * Returns string representation of event in word formats,
+     * rendered from the fields parsed when the event was created
+     *
+     */
     @Override
-    public String print() {
-        //splits string to get the timings and desc
-        String[] parts1 = super.print().split(" /from ");
-        String[] parts2 = parts1[1].split(" /to ");
-        String[] parts3 = parts2[1].split(" /on ");
+    protected String render() {
+        return renderOn(localDate);
+    }
 
-        String dateEdited = "";
-        String startTimeEdited = "";
-        String endTimeEdited = "";
+    /**
+     * Returns string representation of the occurrence on date, for an event that repeats
+     *
+     * @param date date of the occurrence
+     */
+    @Override
+    public String printOn(LocalDate date) {
+        return recurrence == null ? print() : renderOn(date);
+    }
 
+    private String renderOn(LocalDate date) {
+        String title = "[" + getStatusIcon() + "] " + taskDesc;
 
         if (localDate != null && localStartTime != null && localEndTime != null) {
             // input of format /from 16:00 /to 18:00 /on 2020-12-10 || 10/12/2020 16:00 changed to Dec 12 2020, 4:00 pm to 6:00 pm
-            DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("MMM dd yyyy");
-            dateEdited = localDate.format(dateFormatter);
-
-            DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("h:mm a");
-            startTimeEdited = localStartTime.format(timeFormatter);
-            endTimeEdited = localEndTime.format(timeFormatter);
+            String dateEdited = date.format(DATE_FORMATTER);
+            if (recurrence != null) {
+                dateEdited += ", " + recurrence.describe();
+            }
+            String startTimeEdited = localStartTime.format(TIME_FORMATTER);
+            String endTimeEdited = localEndTime.format(TIME_FORMATTER);
 
-            return "[E]" + parts1[0] + " (from: " + startTimeEdited + " to: "
+            return "[E]" + title + " (from: " + startTimeEdited + " to: "
                     + endTimeEdited + " on: " + dateEdited + ")";
 
         } else if (rawDeadline != null) {
-            dateEdited = rawDeadline;
 
-            return "[E]" + parts1[0] + "( " + dateEdited + " )";
+            return "[E]" + title + "( " + rawDeadline + " )";
         }
 
         // Default return statement if none of the conditions are met
-        return "[E]" + super.print();
+        return "[E]" + super.render();
     }
 
     /**
@@ -197,6 +271,7 @@ public class Events extends Task {
     @Override
     public void setDate(LocalDate updatedDate) {
         this.localDate = updatedDate;
+        invalidate();
     }
 
     /**
@@ -222,6 +297,7 @@ public class Events extends Task {
     @Override
     public void setStartTime(LocalTime updatedEventStartTime) {
         this.localStartTime = updatedEventStartTime;
+        invalidate();
     }
 
     /**
@@ -230,6 +306,7 @@ public class Events extends Task {
     @Override
     public void setEndTime(LocalTime updatedEventEndTime) {
         this.localEndTime = updatedEventEndTime;
+        invalidate();
     }
 
     /**
@@ -238,10 +315,38 @@ public class Events extends Task {
     @Override
     public void setDesc(String newValue) {
         if (taskDesc != null) {
-            desc = taskDesc + " /from " + localStartTime + " /to " + localEndTime + " /on " + localDate;
+            desc = taskDesc + " /from " + localStartTime + " /to " + localEndTime + " /on " + localDate
+                    + (recurrence == null ? "" : " /every " + recurrence.getSpec());
         }
+        invalidate();
+    }
+
+
+    //getter
+    public String getTitle() {
+        return taskDesc;
+    }
+
+    //getter
+    public LocalTime getLocalStartTime() {
+        return localStartTime;
+    }
+
+    //getter
+    public LocalTime getLocalEndTime() {
+        return localEndTime;
     }
 
+    //getter
+    public String getRawDeadline() {
+        return rawDeadline;
+    }
+
+    //getter
+    @Override
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
 
     /**
      * Returns date of event in LocalDate type
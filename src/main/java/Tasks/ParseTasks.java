@@ -3,9 +3,24 @@ package Tasks;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.Temporal;
 
 public class ParseTasks {
+    //formatters are immutable and thread safe, so they are built once
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+    private static final DateTimeFormatter DATE_FORMATTER_1 = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter DATE_FORMATTER_2 = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter DATE_TIME_FORMATTER_1 = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final DateTimeFormatter DATE_TIME_FORMATTER_2 = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    //length of a time in the format 16:00
+    private static final int TIME_LENGTH = 5;
+
+    //length of a date in the format 2020-12-10 or 10/12/2020
+    private static final int DATE_LENGTH = 10;
 
     /**
      * Parses a time string in the format "HH:mm" (e.g., "16:00") and returns
@@ -17,8 +32,7 @@ public class ParseTasks {
     public static LocalTime parseTime(String time) {
 
         //input of format 16:00
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
-        return LocalTime.parse(time, timeFormatter);
+        return LocalTime.parse(time, TIME_FORMATTER);
     }
 
     /**
@@ -31,8 +45,7 @@ public class ParseTasks {
     public static LocalDate parseDateFormat1(String date) {
 
         // input of format 2020-12-10
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        return LocalDate.parse(date, dateFormatter);
+        return LocalDate.parse(date, DATE_FORMATTER_1);
     }
 
     /**
@@ -45,8 +58,7 @@ public class ParseTasks {
     public static LocalDate parseDateFormat2(String date) {
 
         // input of format 10/12/2020
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-        return LocalDate.parse(date, dateFormatter);
+        return LocalDate.parse(date, DATE_FORMATTER_2);
     }
 
     /**
@@ -59,8 +71,7 @@ public class ParseTasks {
     public static LocalDateTime parseDateTimeFormat1(String dateTime) {
 
         // input of format 2020-12-10 16:00
-        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-        return LocalDateTime.parse(dateTime, dateTimeFormatter);
+        return LocalDateTime.parse(dateTime, DATE_TIME_FORMATTER_1);
     }
 
     /**
@@ -73,7 +84,103 @@ public class ParseTasks {
     public static LocalDateTime parseDateTimeFormat2(String dateTime) {
 
         // input of format 10/12/2020 16:00
-        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
-        return LocalDateTime.parse(dateTime, dateTimeFormatter);
+        return LocalDateTime.parse(dateTime, DATE_TIME_FORMATTER_2);
+    }
+
+    /**
+     * Parses a deadline in any supported format in a single pass, without throwing.
+     * The format is told apart by the separators, then the digits are read by hand.
+     *
+     * @param deadline The deadline string, e.g. 2020-12-10 16:00, 10/12/2020, 16:00.
+     * @return a `LocalDateTime`, `LocalDate` or `LocalTime`, or null if no format matches.
+     */
+    public static Temporal parseDeadline(String deadline) {
+        int space = deadline.indexOf(' ');
+        if (space < 0) {
+            if (deadline.length() == TIME_LENGTH) {
+                return parseTimeOrNull(deadline);
+            }
+            return parseDateOrNull(deadline);
+        }
+
+        LocalDate date = parseDateOrNull(deadline.substring(0, space));
+        LocalTime time = date == null ? null : parseTimeOrNull(deadline.substring(space + 1));
+        if (time == null) {
+            return null;
+        }
+        // 24:00 is midnight at the end of the day, like the formatters read it
+        boolean isEndOfDay = deadline.startsWith("24", space + 1);
+        return LocalDateTime.of(isEndOfDay ? date.plusDays(1) : date, time);
+    }
+
+    /**
+     * Parses a time in the format "HH:mm" without throwing, reading 24:00 as midnight
+     *
+     * @param time The time string to be parsed.
+     * @return the parsed time, or null if it is not a valid time.
+     */
+    public static LocalTime parseTimeOrNull(String time) {
+        if (time.length() != TIME_LENGTH || time.charAt(2) != ':') {
+            return null;
+        }
+        int hour = digits(time, 0, 2);
+        int minute = digits(time, 3, 5);
+        if (hour == 24 && minute == 0) {
+            return LocalTime.MIDNIGHT;
+        }
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return null;
+        }
+        return LocalTime.of(hour, minute);
+    }
+
+    /**
+     * Parses a date in the format "yyyy-MM-dd" or "dd/MM/yyyy" without throwing.
+     * Like the formatters, a day past the end of its month becomes the last day of the month.
+     *
+     * @param date The date string to be parsed.
+     * @return the parsed date, or null if it is not a valid date.
+     */
+    public static LocalDate parseDateOrNull(String date) {
+        if (date.length() != DATE_LENGTH) {
+            return null;
+        }
+        int year;
+        int month;
+        int day;
+        if (date.charAt(4) == '-' && date.charAt(7) == '-') {
+            // input of format 2020-12-10
+            year = digits(date, 0, 4);
+            month = digits(date, 5, 7);
+            day = digits(date, 8, 10);
+        } else if (date.charAt(2) == '/' && date.charAt(5) == '/') {
+            // input of format 10/12/2020
+            day = digits(date, 0, 2);
+            month = digits(date, 3, 5);
+            year = digits(date, 6, 10);
+        } else {
+            return null;
+        }
+
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return null;
+        }
+        int monthLength = Month.of(month).length(Year.isLeap(year));
+        return LocalDate.of(year, month, Math.min(day, monthLength));
+    }
+
+    /**
+     * Returns the value of the digits from start to end, or -1 if any character is not a digit
+     */
+    private static int digits(String text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
     }
-}
\ No newline at end of file
+}
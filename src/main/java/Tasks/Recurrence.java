@@ -0,0 +1,211 @@
+package Tasks;
+
+import Exceptions.InvalidRecurrenceException;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * How often a deadline or event repeats, like an RRULE with a frequency, an interval
+ * and an optional until date or count, written after /every as in
+ * "/every 2 weeks until 2024-06-30" or "/every month count 6".
+ * Occurrence n of a task falls n intervals after its first date, so any occurrence is
+ * found without going through the ones before it, and occurrences are only worked out
+ * for the dates a query asks about, never stored.
+ * A monthly task on a day some months do not have falls on the last day of those months.
+ */
+public class Recurrence {
+    private static final Pattern SPEC_PATTERN = Pattern.compile(
+            "(?:(\\d{1,3}) +)?(day|week|month)s?(?: +until +(\\S+)| +count +(\\d{1,5}))?");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMM dd yyyy");
+
+    private static final String USAGE = "Pls use /every [num] day, week or month, "
+            + "then until [yyyy-MM-dd or dd/MM/yyyy] or count [num] if it stops, like /every 2 weeks count 6";
+
+    private final String spec;
+    private final ChronoUnit unit;
+    private final int interval;
+
+    //last date an occurrence may fall on, or null
+    private final LocalDate until;
+
+    //most occurrences, or 0 for no limit
+    private final int count;
+
+    private Recurrence(String spec, ChronoUnit unit, int interval, LocalDate until, int count) {
+        this.spec = spec;
+        this.unit = unit;
+        this.interval = interval;
+        this.until = until;
+        this.count = count;
+    }
+
+    /**
+     * Returns the recurrence written after /every
+     *
+     * @param spec text after /every, like "week" or "3 days until 2024-06-30"
+     * @throws InvalidRecurrenceException if spec is not a recurrence
+     */
+    public static Recurrence parse(String spec) throws InvalidRecurrenceException {
+        String trimmed = spec.trim();
+        Matcher matcher = SPEC_PATTERN.matcher(trimmed.toLowerCase(Locale.ROOT));
+        if (!matcher.matches()) {
+            throw new InvalidRecurrenceException("OOPS!!! I don't get how often it repeats leh. " + USAGE);
+        }
+
+        int interval = matcher.group(1) == null ? 1 : Integer.parseInt(matcher.group(1));
+        ChronoUnit unit = matcher.group(2).equals("day") ? ChronoUnit.DAYS
+                : matcher.group(2).equals("week") ? ChronoUnit.WEEKS : ChronoUnit.MONTHS;
+        LocalDate until = null;
+        if (matcher.group(3) != null) {
+            until = ParseTasks.parseDateOrNull(matcher.group(3));
+            if (until == null) {
+                throw new InvalidRecurrenceException("OOPS!!! The until date is not a date leh. " + USAGE);
+            }
+        }
+        int count = matcher.group(4) == null ? 0 : Integer.parseInt(matcher.group(4));
+        if (interval == 0 || (matcher.group(4) != null && count == 0)) {
+            throw new InvalidRecurrenceException("OOPS!!! It has to repeat at least once leh. " + USAGE);
+        }
+        return new Recurrence(trimmed, unit, interval, until, count);
+    }
+
+    /**
+     * Returns the date of occurrence n, where occurrence 0 is on first,
+     * whether or not the recurrence has ended by then
+     *
+     * @param first date of the first occurrence
+     * @param n number of the occurrence
+     */
+    public LocalDate dateOf(LocalDate first, long n) {
+        return first.plus(n * interval, unit);
+    }
+
+    /**
+     * Returns the dates of the occurrences between from and to, both included, in order
+     *
+     * @param first date of the first occurrence
+     * @param from first date to include
+     * @param to last date to include
+     */
+    public List<LocalDate> between(LocalDate first, LocalDate from, LocalDate to) {
+        List<LocalDate> dates = new ArrayList<>();
+        for (long n = indexOnOrAfter(first, from); ; n++) {
+            LocalDate date = dateOf(first, n);
+            if (date.isAfter(to) || !isOccurrence(n, date)) {
+                return dates;
+            }
+            dates.add(date);
+        }
+    }
+
+    /**
+     * Returns the date of the first occurrence on or after date, or null if it ended before
+     *
+     * @param first date of the first occurrence
+     * @param date date to start looking from
+     */
+    public LocalDate nextOnOrAfter(LocalDate first, LocalDate date) {
+        long n = indexOnOrAfter(first, date);
+        LocalDate next = dateOf(first, n);
+        return isOccurrence(n, next) ? next : null;
+    }
+
+    /**
+     * Returns the date of the last occurrence, or null if it repeats forever
+     *
+     * @param first date of the first occurrence
+     */
+    public LocalDate last(LocalDate first) {
+        if (count > 0) {
+            LocalDate last = dateOf(first, count - 1);
+            if (until == null || !last.isAfter(until)) {
+                return last;
+            }
+        }
+        if (until == null) {
+            return null;
+        }
+        long n = indexOnOrAfter(first, until.plusDays(1)) - 1;
+        return dateOf(first, Math.max(n, 0));
+    }
+
+    /**
+     * Returns true if the recurrence has an occurrence on date
+     *
+     * @param first date of the first occurrence
+     * @param date date to check
+     */
+    public boolean occursOn(LocalDate first, LocalDate date) {
+        return date.equals(nextOnOrAfter(first, date));
+    }
+
+    /**
+     * Checks that a task starting on first can repeat
+     *
+     * @param first date of the first occurrence, or null if the task has no date
+     * @throws InvalidRecurrenceException if there is no date or the recurrence ends before it
+     */
+    public void checkFirstDate(LocalDate first) throws InvalidRecurrenceException {
+        if (first == null) {
+            throw new InvalidRecurrenceException("OOPS!!! A repeating task needs a date leh. " + USAGE);
+        }
+        if (until != null && until.isBefore(first)) {
+            throw new InvalidRecurrenceException("OOPS!!! It stops repeating before it starts leh");
+        }
+    }
+
+    //getter
+    public String getSpec() {
+        return spec;
+    }
+
+    /**
+     * Returns how often the task repeats in words, like "every 2 weeks until Jun 30 2024"
+     */
+    public String describe() {
+        String unitName = unit.toString().toLowerCase(Locale.ROOT);
+        String result = interval == 1
+                ? "every " + unitName.substring(0, unitName.length() - 1)
+                : "every " + interval + " " + unitName;
+        if (until != null) {
+            result += " until " + until.format(DATE_FORMATTER);
+        }
+        if (count > 0) {
+            result += ", " + count + " times";
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of the first occurrence on or after date, counting from 0 on first
+     */
+    private long indexOnOrAfter(LocalDate first, LocalDate date) {
+        if (!date.isAfter(first)) {
+            return 0;
+        }
+        long steps;
+        if (unit == ChronoUnit.MONTHS) {
+            steps = ChronoUnit.MONTHS.between(YearMonth.from(first), YearMonth.from(date));
+        } else {
+            steps = ChronoUnit.DAYS.between(first, date) / unit.getDuration().toDays();
+        }
+        long n = Math.floorDiv(steps, interval);
+        // steps is rounded down, so at most two steps forward reach date
+        while (dateOf(first, n).isBefore(date)) {
+            n++;
+        }
+        return n;
+    }
+
+    private boolean isOccurrence(long n, LocalDate date) {
+        return (count == 0 || n < count) && (until == null || !date.isAfter(until));
+    }
+}
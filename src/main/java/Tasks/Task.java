@@ -4,13 +4,16 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 
-public abstract class Task {
+public abstract class Task implements Cloneable {
     //var that describes task
     protected String desc;
 
     //var that stores status of task
     protected boolean isDone;
 
+    //line returned by print, null until first printed and after every change
+    private String printed;
+
     public Task(String desc) {
         this.desc = desc;
         isDone = false;
@@ -22,6 +25,7 @@ public abstract class Task {
     public void mark() {
 
         isDone = true;
+        invalidate();
     }
 
     /**
@@ -30,6 +34,19 @@ public abstract class Task {
     public void unMark() {
 
         isDone = false;
+        invalidate();
+    }
+
+    /**
+     * Returns a copy of this task that later changes to it do not reach.
+     * Every field is either a primitive or immutable, so copying the fields is enough.
+     */
+    public Task copy() {
+        try {
+            return (Task) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
     }
 
     /**
@@ -54,6 +71,21 @@ public abstract class Task {
         return desc.equals(task.desc);
     }
 
+    /**
+     * Returns a hash code consistent with equals.
+     * <p>
+     * Equal tasks always share a desc, so the hash code of desc is used. It can be
+     * computed from a stored desc without building the task, and tasks of different
+     * classes with the same desc only collide, they still are not equal.
+     * </p>
+     *
+     * @return hash code of this task
+     */
+    @Override
+    public int hashCode() {
+        return desc.hashCode();
+    }
+
     /**
      * Returns string representation of task completion status
      * If done, return X, else return " "
@@ -63,6 +95,12 @@ public abstract class Task {
         return (isDone ? "X" : " "); // mark done task with X
     }
 
+    //getter
+    public boolean isDone() {
+
+        return isDone;
+    }
+
     //getter
     public String getTaskDesc() {
 
@@ -70,13 +108,48 @@ public abstract class Task {
     }
 
     /**
-     * Returns string representation of task
+     * Returns string representation of task.
+     * The line is rendered once and reused until the task changes.
      */
     public String print() {
+        if (printed == null) {
+            printed = render();
+        }
+        return printed;
+    }
+
+    /**
+     * Returns string representation of the occurrence of task on date,
+     * which is the task itself unless it repeats
+     *
+     * @param date date of the occurrence
+     */
+    public String printOn(LocalDate date) {
+        return print();
+    }
+
+    /**
+     * Returns how often the task repeats, or null if it happens once
+     */
+    public Recurrence getRecurrence() {
+        return null;
+    }
+
+    /**
+     * Returns string representation of task, built from its fields
+     */
+    protected String render() {
 
         return "[" + this.getStatusIcon() + "] " + desc;
     }
 
+    /**
+     * Drops the rendered line, to be called whenever a field shown by print changes
+     */
+    protected void invalidate() {
+        printed = null;
+    }
+
     /**
      * Sets the date of the task.
      *
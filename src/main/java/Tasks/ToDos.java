@@ -25,9 +25,9 @@ public class ToDos extends Task {
     }
 
     @Override
-    public String print() {
+    protected String render() {
 
-        return "[T]" + super.print();
+        return "[T]" + super.render();
     }
 
     /**
@@ -0,0 +1,72 @@
+package Data;
+
+import Tasks.Task;
+import Tasks.ToDos;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class JournalTest {
+    @Test
+    public void replayCheck() throws Exception {
+        File file = File.createTempFile("flash", ".journal");
+        file.deleteOnExit();
+
+        Journal journal = new Journal(file.getPath(), 0);
+        journal.recordAdd(new ToDos("read book"));
+        journal.recordAdd(new ToDos("return book"));
+        journal.recordMark(2);
+        journal.recordDelete(1);
+        journal.close();
+
+        ArrayList<Task> items = new ArrayList<>();
+        long lastSeq = Journal.replay(file, items, 0);
+
+        assertEquals(4, lastSeq);
+        assertEquals(1, items.size());
+        assertEquals("[T][X] return book", items.get(0).print());
+    }
+
+    @Test
+    public void replaySkipsSnapshotRecordsCheck() throws Exception {
+        File file = File.createTempFile("flash", ".journal");
+        file.deleteOnExit();
+
+        Journal journal = new Journal(file.getPath(), 0);
+        journal.recordAdd(new ToDos("read book"));
+        journal.recordAdd(new ToDos("return book"));
+        journal.close();
+
+        // snapshot already contains the first record
+        ArrayList<Task> items = new ArrayList<>();
+        items.add(new ToDos("read book"));
+        Journal.replay(file, items, 1);
+
+        assertEquals(2, items.size());
+        assertEquals("[T][ ] return book", items.get(1).print());
+    }
+
+    @Test
+    public void replayBulkCheck() throws Exception {
+        File file = File.createTempFile("flash", ".journal");
+        file.deleteOnExit();
+
+        Journal journal = new Journal(file.getPath(), 0);
+        for (int i = 1; i <= 5; i++) {
+            journal.recordAdd(new ToDos("task " + i));
+        }
+        journal.recordMark("1-2,4");
+        journal.recordDelete("2-3,5");
+        journal.close();
+
+        ArrayList<Task> items = new ArrayList<>();
+        Journal.replay(file, items, 0);
+
+        assertEquals(2, items.size());
+        assertEquals("[T][X] task 1", items.get(0).print());
+        assertEquals("[T][X] task 4", items.get(1).print());
+    }
+}
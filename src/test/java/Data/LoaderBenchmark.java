@@ -0,0 +1,76 @@
+package Data;
+
+import Tasks.Deadlines;
+import Tasks.Events;
+import Tasks.Task;
+import Tasks.ToDos;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures how loading a text snapshot scales with the number of cores.
+ * Not a unit test, run its main method with the line counts to try, e.g.
+ * java -cp build/classes/java/main:build/classes/java/test Data.LoaderBenchmark 100000 1000000 10000000
+ */
+public class LoaderBenchmark {
+    private static final int RUNS = 3;
+
+    public static void main(String[] args) throws Exception {
+        int[] sizes = args.length == 0 ? new int[]{100_000, 1_000_000} : new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i]);
+        }
+
+        for (int size : sizes) {
+            Path path = Files.createTempFile("flash", ".txt");
+            path.toFile().deleteOnExit();
+            Snapshot.write(path, generate(size), 0);
+            System.out.printf("%,d lines (%,d bytes)%n", size, Files.size(path));
+
+            for (int cores = 1; cores <= Runtime.getRuntime().availableProcessors(); cores *= 2) {
+                ForkJoinPool pool = new ForkJoinPool(cores);
+                long best = Long.MAX_VALUE;
+                for (int run = 0; run < RUNS; run++) {
+                    List<Task> tasks = new ArrayList<>();
+                    long start = System.nanoTime();
+                    Snapshot.readParallel(path, tasks, pool);
+                    best = Math.min(best, System.nanoTime() - start);
+                }
+                pool.shutdown();
+                System.out.printf("  %2d cores: %,d ms%n", cores, best / 1_000_000);
+            }
+            Files.delete(path);
+        }
+    }
+
+    /**
+     * Returns a mix of todos, deadlines in every supported format and events
+     */
+    private static List<Task> generate(int size) throws Exception {
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            switch (i % 5) {
+                case 0:
+                    tasks.add(new ToDos("read book " + i));
+                    break;
+                case 1:
+                    tasks.add(new Deadlines("return book " + i + " /by 2020-04-05 16:00"));
+                    break;
+                case 2:
+                    tasks.add(new Deadlines("submit " + i + " /by 05/04/2020"));
+                    break;
+                case 3:
+                    tasks.add(new Deadlines("call " + i + " /by 16:00"));
+                    break;
+                default:
+                    tasks.add(new Events("project " + i + " /from 16:00 /to 18:00 /on 2020-04-05"));
+                    break;
+            }
+        }
+        return tasks;
+    }
+}
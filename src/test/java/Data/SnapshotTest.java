@@ -0,0 +1,181 @@
+package Data;
+
+import Tasks.Deadlines;
+import Tasks.Events;
+import Tasks.Task;
+import Tasks.ToDos;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SnapshotTest {
+    @Test
+    public void writeAndReadCheck() throws Exception {
+        Path path = Files.createTempFile("flash", ".txt");
+        path.toFile().deleteOnExit();
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new ToDos("read book"));
+        tasks.add(new Deadlines("return book /by 2020-04-05 16:00"));
+        tasks.get(1).mark();
+        Snapshot.write(path, tasks, 7);
+
+        ArrayList<Task> loaded = new ArrayList<>();
+        long seq = Snapshot.read(path, loaded);
+
+        assertEquals(7, seq);
+        assertEquals(2, loaded.size());
+        assertEquals("[D][X] return book (by: Apr 05 2020, 4:00 pm)", loaded.get(1).print());
+    }
+
+    @Test
+    public void damagedRecordCheck() throws Exception {
+        Path path = Files.createTempFile("flash", ".txt");
+        path.toFile().deleteOnExit();
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new ToDos("read book"));
+        tasks.add(new ToDos("return book"));
+        Snapshot.write(path, tasks, 0);
+
+        // flip a character in the second record so its checksum no longer matches
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        lines.set(2, lines.get(2).replace("return", "rextrn"));
+        Files.write(path, lines, StandardCharsets.UTF_8);
+
+        ArrayList<Task> loaded = new ArrayList<>();
+        Snapshot.read(path, loaded);
+
+        assertEquals(1, loaded.size());
+        assertEquals("[T][ ] read book", loaded.get(0).print());
+    }
+
+    @Test
+    public void recordBeforeRepeatingCheck() throws Exception {
+        Path path = Files.createTempFile("flash", ".txt");
+        path.toFile().deleteOnExit();
+
+        // saved by a version without repeating tasks, /every was just part of the text
+        Files.write(path, List.of("T| |read book",
+                "D| |pay rent /by Friday /every week",
+                "E|X|meeting /from 16:00 /to 18:00 /on Monday /every fortnight",
+                "D| |return book /by 2020-04-05 /every week"), StandardCharsets.UTF_8);
+
+        ArrayList<Task> loaded = new ArrayList<>();
+        Snapshot.read(path, loaded);
+
+        assertEquals(4, loaded.size());
+        assertEquals("[D][ ] pay rent (by: Friday /every week)", loaded.get(1).print());
+        assertEquals(null, loaded.get(1).getRecurrence());
+        assertEquals(null, loaded.get(2).getRecurrence());
+        assertEquals("E|X|meeting /from 16:00 /to 18:00 /on Monday /every fortnight",
+                Storage.encodeTask(loaded.get(2)));
+        assertEquals("[D][ ] return book (by: Apr 05 2020, every week)", loaded.get(3).print());
+    }
+
+    @Test
+    public void binaryWriteAndReadCheck() throws Exception {
+        Path path = Files.createTempFile("flash", ".bin");
+        path.toFile().deleteOnExit();
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new ToDos("read book"));
+        tasks.add(new Deadlines("return book /by 2020-04-05 16:00"));
+        tasks.add(new Events("project /from 16:00 /to 18:00 /on 2020-04-05"));
+        tasks.get(2).mark();
+        BinarySnapshot.write(path, tasks, 3);
+
+        ArrayList<Task> loaded = new ArrayList<>();
+        assertEquals(true, BinarySnapshot.isBinary(path));
+        assertEquals(3, BinarySnapshot.read(path, loaded));
+        assertEquals("[T][ ] read book", loaded.get(0).print());
+        assertEquals("[D][ ] return book (by: Apr 05 2020, 4:00 pm)", loaded.get(1).print());
+        assertEquals("[E][X] project (from: 4:00 pm to: 6:00 pm on: Apr 05 2020)", loaded.get(2).print());
+    }
+
+    @Test
+    public void fileListDamagedRecordCheck() throws Exception {
+        Path path = Files.createTempFile("flash", ".bin");
+        path.toFile().deleteOnExit();
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            tasks.add(new ToDos("read book " + i));
+        }
+        // longer than one read ahead
+        tasks.add(new ToDos("read " + "long ".repeat(100) + "book"));
+        BinarySnapshot.write(path, tasks, 4);
+
+        // flip a byte in the fourth record so its checksum no longer matches
+        byte[] bytes = Files.readAllBytes(path);
+        String text = new String(bytes, StandardCharsets.ISO_8859_1);
+        bytes[text.indexOf("book 4")] ^= 1;
+        Files.write(path, bytes);
+
+        FileTaskList loaded = FileTaskList.open(path);
+
+        assertEquals(4, loaded.getSeq());
+        assertEquals(6, loaded.size());
+        assertEquals("read book 5", loaded.descAt(4));
+        assertEquals("[T][ ] read book 3", loaded.get(2).print());
+        assertEquals(tasks.get(5).print(), loaded.get(5).print());
+        assertEquals(true, loaded.get(3).print().contains("damaged task"));
+
+        // the open list keeps reading the old file after a new snapshot replaces it
+        BinarySnapshot.write(path, new ArrayList<>(), 5);
+        assertEquals("[T][ ] read book 5", loaded.get(4).print());
+    }
+
+    @Test
+    public void copyForWriterCheck() throws Exception {
+        Path path = Files.createTempFile("flash", ".bin");
+        path.toFile().deleteOnExit();
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new ToDos("read book"));
+        tasks.add(new Deadlines("return book /by 2020-04-05"));
+        BinarySnapshot.write(path, tasks, 0);
+        FileTaskList loaded = FileTaskList.open(path);
+        loaded.get(1);
+
+        List<Task> copy = Storage.copyOf(tasks);
+        FileTaskList fileCopy = loaded.copy();
+
+        // changes made after the copy, while the writer may be reading it
+        tasks.get(1).mark();
+        tasks.get(1).setDesc("2020-05-06");
+        loaded.get(0).mark();
+        loaded.get(1).setDesc("2020-05-06");
+
+        assertEquals("D| |return book /by 2020-04-05", Storage.encodeTask(copy.get(1)));
+        assertEquals("[T][ ] read book", fileCopy.get(0).print());
+        assertEquals("D| |return book /by 2020-04-05", Storage.encodeTask(fileCopy.get(1)));
+    }
+
+    @Test
+    public void parallelReadCheck() throws Exception {
+        Path path = Files.createTempFile("flash", ".txt");
+        path.toFile().deleteOnExit();
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            tasks.add(i % 2 == 0 ? new ToDos("read book " + i)
+                    : new Deadlines("return book " + i + " /by 2020-04-05 16:00"));
+        }
+        Snapshot.write(path, tasks, 5);
+
+        ArrayList<Task> loaded = new ArrayList<>();
+        assertEquals(5, Snapshot.readParallel(path, loaded, new ForkJoinPool(4)));
+        assertEquals(tasks.size(), loaded.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).print(), loaded.get(i).print());
+        }
+    }
+}
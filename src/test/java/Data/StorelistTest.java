@@ -8,9 +8,14 @@ import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class StorelistTest {
     @Test
@@ -49,6 +54,59 @@ public class StorelistTest {
         assertEquals("[D][ ] read book (by: Apr 05 2020, 4:00 pm)", storeList.get(size - 1).print());
     }
 
+    @Test
+    public void duplicateItemCheck() {
+        ArrayList<Task> items = new ArrayList<>();
+        StoreList storeList = new StoreList(items);
+
+        storeList.addItem("read book", "todo");
+        storeList.addItem("read book /by 2020-04-05 16:00", "deadline");
+
+        // Adding an equal task is rejected, the same desc as another task type is not
+        assertEquals("OOPS!!! Task already exists leh", storeList.addItem("read book", "todo"));
+        assertEquals(2, storeList.getSize());
+
+        // this todo stores the same desc as the deadline
+        storeList.addItem("read book /by 2020-04-05 16:00", "todo");
+        assertEquals(3, storeList.getSize());
+        assertEquals(storeList.get(1).getTaskDesc(), storeList.get(2).getTaskDesc());
+        assertEquals("[T][ ] read book /by 2020-04-05 16:00", storeList.get(2).print());
+    }
+
+    @Test
+    public void duplicateAfterDeleteCheck() throws InvalidIndexException {
+        ArrayList<Task> items = new ArrayList<>();
+        StoreList storeList = new StoreList(items);
+
+        storeList.addItem("read book", "todo");
+        storeList.deleteItem(1);
+        storeList.addItem("read book", "todo");
+
+        // Deleted task no longer counts as a duplicate
+        assertEquals(1, storeList.getSize());
+    }
+
+    @Test
+    public void duplicateInSnapshotCheck() throws Exception {
+        Path path = Files.createTempFile("flash", ".bin");
+        path.toFile().deleteOnExit();
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new ToDos("read book"));
+        tasks.add(new ToDos("return book"));
+        BinarySnapshot.write(path, tasks, 0);
+        StoreList storeList = new StoreList(FileTaskList.open(path));
+
+        // compared by their stored bytes, a deadline with a colliding desc is not a duplicate
+        assertEquals("OOPS!!! Task already exists leh", storeList.addItem("return book", "todo"));
+        storeList.addItem("read book /by 2020-04-05", "todo");
+        storeList.addItem("read book /by 2020-04-05", "deadline");
+        assertEquals(4, storeList.getSize());
+
+        storeList.deleteItem(2);
+        storeList.addItem("return book", "todo");
+        assertEquals(4, storeList.getSize());
+    }
+
     @Test
     public void markItemCheck() {
         ArrayList<Task> items = new ArrayList<>();
@@ -197,4 +255,216 @@ public class StorelistTest {
         // Restore original System.out
         System.setOut(originalOut);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void findEqualTasksCheck() throws EmptyDescException {
+        ArrayList<Task> items = new ArrayList<>();
+        // Equal tasks can come from a hand edited file
+        items.add(new ToDos("read book"));
+        items.add(new ToDos("read book"));
+        StoreList storeList = new StoreList(items);
+
+        assertEquals("    Here are the tasks in your list that match your search:\n" +
+                "    1.[T][ ] read book\n" +
+                "    2.[T][ ] read book\n", storeList.displayItemsWithWord("book"));
+    }
+
+    @Test
+    public void findWordsCheck() throws InvalidIndexException {
+        ArrayList<Task> items = new ArrayList<>();
+        StoreList storeList = new StoreList(items);
+        storeList.addItem("read Book", "todo");
+        storeList.addItem("return book /by 2020-04-05 16:00", "deadline");
+        storeList.addItem("read notes", "todo");
+        storeList.addItem("bookmark page", "todo");
+
+        assertEquals("    Here are the tasks in your list that match your search:\n" +
+                "    1.[T][ ] read Book\n", storeList.displayItemsWithWords(true, "read", "book"));
+
+        // the index follows deletes, and ids map back to the new positions
+        storeList.deleteItem(1);
+        assertEquals("    Here are the tasks in your list that match your search:\n" +
+                "    1.[D][ ] return book (by: Apr 05 2020, 4:00 pm)\n" +
+                "    2.[T][ ] read notes\n", storeList.displayItemsWithWords(false, "read", "book"));
+    }
+
+    @Test
+    public void findSubstringAfterChangesCheck() throws InvalidIndexException {
+        ArrayList<Task> items = new ArrayList<>();
+        StoreList storeList = new StoreList(items);
+        storeList.addItem("read book", "todo");
+        storeList.addItem("bookmark page", "todo");
+        storeList.addItem("return book /by 2020-04-05 16:00", "deadline");
+        storeList.deleteItem(1);
+        storeList.updateTask(2, "datetime", "2021-01-01 16:00");
+
+        // same results as a scan, for keywords long enough for the index and for shorter ones
+        assertEquals("    Here are the tasks in your list that match your search:\n" +
+                "    1.[T][ ] bookmark page\n" +
+                "    2.[D][ ] return book (by: Jan 01 2021, 4:00 pm)\n", storeList.displayItemsWithWord("ook", "2021"));
+        assertEquals("    Here are the tasks in your list that match your search:\n" +
+                "    1.[T][ ] bookmark page\n", storeList.displayItemsWithWord("ma"));
+    }
+
+    @Test
+    public void dueRangeAndNextCheck() {
+        ArrayList<Task> items = new ArrayList<>();
+        StoreList storeList = new StoreList(items);
+        storeList.addItem("return book /by 2020-04-05 16:00", "deadline");
+        storeList.addItem("submit /by 03/04/2020", "deadline");
+        storeList.addItem("call /by 2020-04-05 09:00", "deadline");
+        storeList.addItem("old /by 2020-01-01 09:00", "deadline");
+
+        assertEquals("    Here are the tasks due from 2020-04-01 to 2020-04-04:\n" +
+                "    2.[D][ ] submit (by: Apr 03 2020)\n", storeList.dueOnDate("2020-04-01..2020-04-04"));
+        assertEquals("    Here are your next 2 deadlines:\n" +
+                "    2.[D][ ] submit (by: Apr 03 2020)\n" +
+                "    3.[D][ ] call (by: Apr 05 2020, 9:00 am)\n", storeList.nextDeadlines(2, LocalDate.of(2020, 2, 1)));
+    }
+
+    @Test
+    public void pagedListCheck() throws EmptyDescException {
+        ArrayList<Task> items = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            items.add(new ToDos("task " + i));
+        }
+        StoreList storeList = new StoreList(items);
+
+        assertEquals("    Here are tasks 2 to 3 of 5 in your list:\n" +
+                "    2.[T][ ] task 2\n" +
+                "    3.[T][ ] task 3\n" +
+                "    Use list --from 4 --limit 2 to see more\n", storeList.displayItems(2, 2));
+        assertEquals("    5.[T][ ] task 5", storeList.lines(5, 5).next());
+    }
+
+    @Test
+    public void bulkChangeCheck() throws EmptyDescException, InvalidIndexException {
+        ArrayList<Task> items = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            items.add(new ToDos("task " + i));
+        }
+        StoreList storeList = new StoreList(items);
+        storeList.displayItemsWithWords(true, "task");
+
+        assertEquals("    Wohoo! I've marked 6 tasks as done! WELL DONE!", storeList.markItems("1-3, 5,8-9"));
+        assertEquals("    Aww:( I've marked 1 tasks as not done yet", storeList.unmarkItems("9"));
+        assertEquals("    Noted! I've removed 5 tasks.\n" +
+                "    Now you have 5 tasks in the list.", storeList.deleteItems("done"));
+        assertEquals("    Here are the tasks in your list:\n" +
+                "    1.[T][ ] task 4\n" +
+                "    2.[T][ ] task 6\n" +
+                "    3.[T][ ] task 7\n" +
+                "    4.[T][ ] task 9\n" +
+                "    5.[T][ ] task 10\n", storeList.displayItems());
+        assertEquals(storeList.displayItemsWithWords(true, "task"),
+                storeList.displayItemsWithWords(false, "task", "missing"));
+        assertThrows(InvalidIndexException.class, () -> storeList.deleteItems("4-6"));
+    }
+
+    @Test
+    public void versionCheck() throws InvalidIndexException {
+        StoreList storeList = new StoreList(new ArrayList<>());
+        storeList.addItem("read book", "todo");
+        long version = storeList.getVersion();
+
+        storeList.displayItems();
+        storeList.displayItemsWithWord("book");
+        storeList.addItem("read book", "todo");
+        assertEquals(version, storeList.getVersion());
+
+        storeList.markItem(1);
+        assertEquals(version + 1, storeList.getVersion());
+        assertEquals(true, storeList.isDirty());
+
+        storeList.markSaved();
+        assertEquals(false, storeList.isDirty());
+        assertEquals(false, new StoreList(new ArrayList<>()).isDirty());
+    }
+
+    @Test
+    public void conflictsCheck() throws InvalidIndexException {
+        StoreList storeList = new StoreList(new ArrayList<>());
+        storeList.addItem("meeting /from 16:00 /to 18:00 /on 2020-05-12", "event");
+        storeList.addItem("lunch /from 12:00 /to 13:00 /on 2020-05-12", "event");
+
+        assertEquals("    Got it. I've added this task:\n" +
+                "      [E][ ] call (from: 5:00 pm to: 7:00 pm on: May 12 2020)\n" +
+                "    Now you have 3 tasks in the list.\n" +
+                "    Heads up! It clashes with:\n" +
+                "    1.[E][ ] meeting (from: 4:00 pm to: 6:00 pm on: May 12 2020)",
+                storeList.addItem("call /from 17:00 /to 19:00 /on 2020-05-12", "event"));
+
+        storeList.deleteItem(1);
+        storeList.addItem("walk /from 19:00 /to 20:00 /on 2020-05-12", "event");
+        storeList.addItem("class /from 12:30 /to 14:00 /on 2020-05-13", "event");
+        assertEquals("Yay! No clashing events", storeList.displayConflicts("2020-05-12"));
+
+        storeList.addItem("lecture /from 12:00 /to 14:00 /on 2020-05-13", "event");
+        assertEquals("    Here are the clashing events:\n" +
+                "    5.[E][ ] lecture (from: 12:00 pm to: 2:00 pm on: May 13 2020)\n" +
+                "      clashes with 4.[E][ ] class (from: 12:30 pm to: 2:00 pm on: May 13 2020)\n",
+                storeList.displayConflicts(""));
+    }
+
+    @Test
+    public void freeSlotsCheck() {
+        StoreList storeList = new StoreList(new ArrayList<>());
+        storeList.addItem("meeting /from 09:00 /to 12:00 /on 2020-05-12", "event");
+        storeList.addItem("lunch /from 11:00 /to 13:00 /on 2020-05-12", "event");
+        storeList.addItem("class /from 15:00 /to 23:59 /on 2020-05-12", "event");
+        storeList.addItem("sleep /from 00:00 /to 08:00 /on 2020-05-13", "event");
+
+        assertEquals("    Here are your free slots of at least 2h:\n" +
+                "    May 12 2020: 00:00 to 09:00, 13:00 to 15:00\n", storeList.displayFreeSlots("2020-05-12", "2h"));
+        assertEquals("    Here are your free slots of at least 1h30m:\n" +
+                "    May 11 2020: 00:00 to 24:00\n" +
+                "    May 12 2020: 00:00 to 09:00, 13:00 to 15:00\n" +
+                "    May 13 2020: 08:00 to 24:00\n", storeList.displayFreeSlots("11/05/2020..2020-05-13", "1h30m"));
+        assertEquals("Sorry, no free slots that long leh", storeList.displayFreeSlots("2020-05-12", "600m"));
+    }
+
+    @Test
+    public void remindersCheck() throws InvalidIndexException {
+        StoreList storeList = new StoreList(new ArrayList<>());
+        LocalDateTime now = LocalDateTime.of(2020, 5, 12, 14, 0);
+        storeList.addItem("essay /by 2020-05-12 16:00", "deadline");
+        storeList.addItem("old /by 2020-05-11 16:00", "deadline");
+        storeList.enableReminders(now);
+        storeList.addItem("quiz /by 2020-05-12 15:30", "deadline");
+
+        assertEquals("", storeList.dueReminders(now));
+        assertEquals("    Reminder! These deadlines are due soon:\n" +
+                "    3.[D][ ] quiz (by: May 12 2020, 3:30 pm)\n" +
+                "    1.[D][ ] essay (by: May 12 2020, 4:00 pm)", storeList.dueReminders(now.plusMinutes(60)));
+
+        // moving a deadline later moves its reminder too
+        storeList.addItem("report /by 2020-05-12 17:00", "deadline");
+        storeList.updateTask(4, "datetime", "2020-05-12 18:00");
+        assertEquals("", storeList.dueReminders(now.plusMinutes(150)));
+        storeList.markItem(4);
+        assertEquals("", storeList.dueReminders(now.plusHours(4)));
+    }
+
+    @Test
+    public void repeatingTasksCheck() {
+        StoreList storeList = new StoreList(new ArrayList<>());
+        storeList.addItem("standup /from 09:00 /to 09:30 /on 2020-05-11 /every week count 4", "event");
+        storeList.addItem("essay /by 2020-05-18 10:00", "deadline");
+        storeList.addItem("rent /by 2020-05-15 /every month", "deadline");
+        storeList.addItem("dentist /from 09:15 /to 10:00 /on 2020-05-25", "event");
+
+        // occurrences are worked out for the dates asked about
+        assertEquals("    Here are the tasks due on 2020-05-18:\n" +
+                "    1.[E][ ] standup (from: 9:00 am to: 9:30 am on: May 18 2020, every week, 4 times)\n" +
+                "    2.[D][ ] essay (by: May 18 2020, 10:00 am)\n", storeList.dueOnDate("2020-05-18"));
+        assertEquals("Yay! No tasks due on 2020-06-08", storeList.dueOnDate("2020-06-08"));
+        assertEquals("    Here are your next 3 deadlines:\n" +
+                "    2.[D][ ] essay (by: May 18 2020, 10:00 am)\n" +
+                "    3.[D][ ] rent (by: Jun 15 2020, every month)\n" +
+                "    3.[D][ ] rent (by: Jul 15 2020, every month)\n", storeList.nextDeadlines(3, LocalDate.of(2020, 5, 16)));
+        assertEquals("    Here are the clashing events:\n" +
+                "    1.[E][ ] standup (from: 9:00 am to: 9:30 am on: May 25 2020, every week, 4 times)\n" +
+                "      clashes with 4.[E][ ] dentist (from: 9:15 am to: 10:00 am on: May 25 2020)\n",
+                storeList.displayConflicts(""));
+    }
+}
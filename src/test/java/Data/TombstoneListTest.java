@@ -0,0 +1,38 @@
+package Data;
+
+import Exceptions.EmptyDescException;
+import Tasks.Task;
+import Tasks.ToDos;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TombstoneListTest {
+    @Test
+    public void removeKeepsIdsCheck() throws EmptyDescException {
+        ArrayList<Task> backing = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            backing.add(new ToDos("task " + i));
+        }
+        TombstoneList items = new TombstoneList(backing);
+
+        items.remove(1);
+        items.removePositions(new int[] {2, 3});
+
+        // three tombstones out of six slots are not compacted yet
+        assertEquals(3, items.size());
+        assertEquals(6, backing.size());
+        assertEquals("[T][ ] task 6", items.get(2).print());
+        assertEquals(6, items.idAt(2));
+        assertEquals(1, items.positionOf(3));
+        assertEquals(-1, items.positionOf(2));
+
+        items.add(new ToDos("task 7"));
+        assertEquals(7, items.idAt(3));
+
+        assertEquals(4, items.compacted().size());
+        assertEquals(3, items.positionOf(7));
+    }
+}
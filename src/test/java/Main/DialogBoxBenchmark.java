@@ -0,0 +1,88 @@
+package Main;
+
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.image.Image;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Measures the cost of creating the dialog box for one message, loading the dialog
+ * markup through FXMLLoader as DialogBox used to against building it in code.
+ * Not a unit test, run its main method with the number of messages, e.g.
+ * java -cp build/classes/java/main:build/classes/java/test:build/resources/main Main.DialogBoxBenchmark 2000
+ */
+public class DialogBoxBenchmark {
+    private static final int RUNS = 5;
+
+    private static final String[] IMAGES = {"/images/sadJoy.png", "/images/angryJoy.png",
+        "/images/Anxiety.png", "/images/happyJoy.png", "/images/Joy.png"};
+
+    // the markup DialogBox was loaded from, without its stylesheet
+    private static final String DIALOG_FXML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<?import javafx.geometry.Insets?>\n"
+            + "<?import javafx.scene.control.Label?>\n"
+            + "<?import javafx.scene.layout.HBox?>\n"
+            + "<?import javafx.scene.shape.Circle?>\n"
+            + "<HBox alignment=\"TOP_RIGHT\" maxHeight=\"1.7976931348623157E308\""
+            + " maxWidth=\"1.7976931348623157E308\" prefWidth=\"400.0\""
+            + " xmlns=\"http://javafx.com/javafx/22\" xmlns:fx=\"http://javafx.com/fxml/1\">\n"
+            + "  <children>\n"
+            + "    <Label fx:id=\"dialog\" text=\"Label\" wrapText=\"true\" minHeight=\"-Infinity\">\n"
+            + "      <padding><Insets bottom=\"5.0\" left=\"5.0\" right=\"4.0\" top=\"4.0\" /></padding>\n"
+            + "      <HBox.margin><Insets left=\"7.0\" right=\"7.0\" /></HBox.margin>\n"
+            + "    </Label>\n"
+            + "    <Circle fx:id=\"displayPicture\" radius=\"40\" />\n"
+            + "  </children>\n"
+            + "  <padding><Insets bottom=\"15.0\" left=\"5.0\" right=\"5.0\" top=\"15.0\" /></padding>\n"
+            + "</HBox>\n";
+
+    public static void main(String[] args) throws Exception {
+        int messages = args.length == 0 ? 2000 : Integer.parseInt(args[0]);
+
+        CountDownLatch started = new CountDownLatch(1);
+        Platform.startup(started::countDown);
+        started.await();
+
+        CountDownLatch done = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                run(messages);
+            } catch (Exception e) {
+                e.printStackTrace();
+            } finally {
+                done.countDown();
+            }
+        });
+        done.await();
+        Platform.exit();
+    }
+
+    private static void run(int messages) throws Exception {
+        byte[] markup = DIALOG_FXML.getBytes(StandardCharsets.UTF_8);
+        Image image = DialogBox.loadImage("/images/Joy.png");
+
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < messages; i++) {
+                new FXMLLoader().load(new ByteArrayInputStream(markup));
+                // every box used to load its own copies of the images
+                for (String path : IMAGES) {
+                    DialogBox.loadImage(path);
+                }
+            }
+            long loaded = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < messages; i++) {
+                DialogBox.getEmoteXDialog("message " + i, image, "ListCommand");
+            }
+            long built = System.nanoTime() - start;
+
+            System.out.printf("run %d: FXML %,d us, in code %,d us per message%n", run + 1,
+                    loaded / 1000 / messages, built / 1000 / messages);
+        }
+    }
+}
@@ -16,6 +16,8 @@ public class DeadlineTest {
                     "deadline read book /by yyyy-MM-dd or dd/MM/yyy 16:00", e.getMessage());
         } catch (EmptyDeadlineException e) {
             assertEquals("OOPS!!! The description of a deadline cannot be empty leh. Pls provide in the following format: deadline read book /by yyyy-MM-dd or dd/MM/yyy 16:00", e.getMessage());
+        } catch (InvalidRecurrenceException e) {
+            throw new RuntimeException(e);
         }
     }
 
@@ -25,6 +27,8 @@ public class DeadlineTest {
             assertEquals("[E][ ] read book (from: 4:00 pm to: 6:00 pm on: Apr 05 2020", new Deadlines("").print());
         } catch (EmptyDeadlineException | EmptyDeadlineDateException e) {
             assertEquals("OOPS!!! The description of a deadline cannot be empty leh. Pls provide in the following format: deadline read book /by yyyy-MM-dd or dd/MM/yyy 16:00", e.getMessage());
+        } catch (InvalidRecurrenceException e) {
+            throw new RuntimeException(e);
         }
     }
 
@@ -36,6 +40,21 @@ public class DeadlineTest {
             assertEquals("OOPS!!! Deadline date not given leh! " +
                     "Pls provide in the following format: " +
                     "deadline read book /by yyyy-MM-dd or dd/MM/yyy 16:00", e.getMessage());
+        } catch (InvalidRecurrenceException e) {
+            throw new RuntimeException(e);
         }
     }
+
+    @Test
+    public void printAfterChangeCheck() throws EmptyDeadlineException, EmptyDeadlineDateException,
+            InvalidRecurrenceException {
+        Deadlines deadline = new Deadlines("read book /by 2020-04-10 16:00");
+        assertEquals("[D][ ] read book (by: Apr 10 2020, 4:00 pm)", deadline.print());
+
+        // the rendered line is reused, so every change has to show up in the next print
+        deadline.mark();
+        assertEquals("[D][X] read book (by: Apr 10 2020, 4:00 pm)", deadline.print());
+        deadline.setDateTime(java.time.LocalDateTime.of(2020, 4, 11, 9, 0));
+        assertEquals("[D][X] read book (by: Apr 11 2020, 9:00 am)", deadline.print());
+    }
 }
@@ -16,6 +16,8 @@ public class EventsTest {
             throw new RuntimeException(e);
         } catch (EmptyEventTimingException e) {
             throw new RuntimeException(e);
+        } catch (InvalidRecurrenceException e) {
+            throw new RuntimeException(e);
         }
     }
 
@@ -25,6 +27,8 @@ public class EventsTest {
             assertEquals("[E][ ] read book (from: 4:00 pm to: 6:00 pm on: Apr 05 2020", new Events("read book /from ").print());
         } catch (EmptyEventTimingException | EmptyEventException | EmptyEventDateException | InvalidTimeException e) {
             assertEquals("OOPS!!! Event start time not given leh. Pls provide in the following format: event project meeting /from 16:00 /to 18:00 /on yyyy-MM-dd or dd/MM/yyyy", e.getMessage());
+        } catch (InvalidRecurrenceException e) {
+            throw new RuntimeException(e);
         }
     }
 
@@ -36,6 +40,8 @@ public class EventsTest {
             assertEquals("OOPS!!! Event end time not given leh. Pls provide in the following format: event project meeting /from 16:00 /to 18:00 /on yyyy-MM-dd or dd/MM/yyyy", e.getMessage());
         } catch (InvalidTimeException e) {
             throw new RuntimeException(e);
+        } catch (InvalidRecurrenceException e) {
+            throw new RuntimeException(e);
         }
     }
 
@@ -45,6 +51,8 @@ public class EventsTest {
             assertEquals("[E][ ] read book (from: 4:00 pm to: 6:00 pm on: Apr 05 2020", new Events("read book /from 16:00 /to 18:00").print());
         } catch (EmptyEventDateException | EmptyEventException | EmptyEventTimingException | InvalidTimeException e) {
             assertEquals("OOPS!!! Event date not given leh. Pls provide in the following format: event project meeting /from 16:00 /to 18:00 /on yyyy-MM-dd or dd/MM/yyyy", e.getMessage());
+        } catch (InvalidRecurrenceException e) {
+            throw new RuntimeException(e);
         }
     }
 }
\ No newline at end of file
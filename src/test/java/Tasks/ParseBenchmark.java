@@ -0,0 +1,101 @@
+package Tasks;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.Temporal;
+
+/**
+ * Compares the single-pass deadline parser with the cascade of formatters it replaced,
+ * on the mix of formats a large task file holds.
+ * Not a unit test, run its main method with the number of deadlines to parse, e.g.
+ * java -cp build/classes/java/main:build/classes/java/test Tasks.ParseBenchmark 1000000
+ */
+public class ParseBenchmark {
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) {
+        int size = args.length == 0 ? 1_000_000 : Integer.parseInt(args[0]);
+        String[] deadlines = generate(size);
+
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            int cascadeMatches = 0;
+            for (String deadline : deadlines) {
+                cascadeMatches += parseWithCascade(deadline) != null ? 1 : 0;
+            }
+            long cascade = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int singlePassMatches = 0;
+            for (String deadline : deadlines) {
+                singlePassMatches += ParseTasks.parseDeadline(deadline) != null ? 1 : 0;
+            }
+            long singlePass = System.nanoTime() - start;
+
+            System.out.printf("run %d: cascade %,d ms, single pass %,d ms (%,d and %,d parsed)%n", run + 1,
+                    cascade / 1_000_000, singlePass / 1_000_000, cascadeMatches, singlePassMatches);
+        }
+    }
+
+    /**
+     * Returns deadlines in every supported format, plus some that match none
+     */
+    private static String[] generate(int size) {
+        String[] deadlines = new String[size];
+        for (int i = 0; i < size; i++) {
+            int day = 1 + i % 28;
+            switch (i % 6) {
+                case 0:
+                    deadlines[i] = String.format("2020-04-%02d 16:00", day);
+                    break;
+                case 1:
+                    deadlines[i] = String.format("2020-04-%02d", day);
+                    break;
+                case 2:
+                    deadlines[i] = String.format("%02d/04/2020", day);
+                    break;
+                case 3:
+                    deadlines[i] = String.format("%02d/04/2020 16:00", day);
+                    break;
+                case 4:
+                    deadlines[i] = "16:00";
+                    break;
+                default:
+                    deadlines[i] = "next monday";
+                    break;
+            }
+        }
+        return deadlines;
+    }
+
+    /**
+     * Parses a deadline the way Deadlines used to, building a formatter for every
+     * attempt and moving on to the next format when one throws
+     */
+    private static Temporal parseWithCascade(String deadline) {
+        try {
+            return LocalDateTime.parse(deadline, DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
+        } catch (DateTimeParseException e1) {
+            try {
+                return LocalDate.parse(deadline, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+            } catch (DateTimeParseException e2) {
+                try {
+                    return LocalDate.parse(deadline, DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+                } catch (DateTimeParseException e3) {
+                    try {
+                        return LocalDateTime.parse(deadline, DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"));
+                    } catch (DateTimeParseException e4) {
+                        try {
+                            return LocalTime.parse(deadline, DateTimeFormatter.ofPattern("HH:mm"));
+                        } catch (DateTimeParseException e5) {
+                            return null;
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package Tasks;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ParseTasksTest {
+    @Test
+    public void parseDeadlineFormatsCheck() {
+        assertEquals(LocalDateTime.of(2020, 12, 10, 16, 0), ParseTasks.parseDeadline("2020-12-10 16:00"));
+        assertEquals(LocalDateTime.of(2020, 12, 10, 16, 0), ParseTasks.parseDeadline("10/12/2020 16:00"));
+        assertEquals(LocalDate.of(2020, 12, 10), ParseTasks.parseDeadline("2020-12-10"));
+        assertEquals(LocalDate.of(2020, 12, 10), ParseTasks.parseDeadline("10/12/2020"));
+        assertEquals(LocalTime.of(16, 0), ParseTasks.parseDeadline("16:00"));
+        assertNull(ParseTasks.parseDeadline("next monday"));
+    }
+
+    @Test
+    public void parseLikeFormattersCheck() {
+        // the formatters move a day past the end of the month back, and read 24:00 as midnight
+        assertEquals(LocalDate.of(2021, 2, 28), ParseTasks.parseDateOrNull("2021-02-30"));
+        assertEquals(LocalDateTime.of(2020, 4, 6, 0, 0), ParseTasks.parseDeadline("2020-04-05 24:00"));
+        assertNull(ParseTasks.parseDateOrNull("2020-02-32"));
+        assertNull(ParseTasks.parseTimeOrNull("23:60"));
+    }
+}
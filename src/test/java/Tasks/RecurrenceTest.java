@@ -0,0 +1,49 @@
+package Tasks;
+
+import Exceptions.InvalidRecurrenceException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RecurrenceTest {
+    @Test
+    public void occurrencesCheck() throws InvalidRecurrenceException {
+        LocalDate first = LocalDate.of(2024, 1, 31);
+
+        // months without a 31st fall on their last day
+        Recurrence monthly = Recurrence.parse("month count 4");
+        assertEquals(List.of(LocalDate.of(2024, 2, 29), LocalDate.of(2024, 3, 31), LocalDate.of(2024, 4, 30)),
+                monthly.between(first, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 12, 31)));
+        assertEquals(LocalDate.of(2024, 4, 30), monthly.last(first));
+
+        Recurrence fortnightly = Recurrence.parse("2 weeks until 2024-03-01");
+        assertEquals(LocalDate.of(2024, 2, 14), fortnightly.nextOnOrAfter(first, LocalDate.of(2024, 2, 1)));
+        assertEquals(LocalDate.of(2024, 2, 28), fortnightly.last(first));
+        assertNull(fortnightly.nextOnOrAfter(first, LocalDate.of(2024, 2, 29)));
+        assertEquals("every 2 weeks until Mar 01 2024", fortnightly.describe());
+
+        assertNull(Recurrence.parse("day").last(first));
+        assertThrows(InvalidRecurrenceException.class, () -> Recurrence.parse("fortnight"));
+        assertThrows(InvalidRecurrenceException.class, () -> Recurrence.parse("week count 0"));
+    }
+
+    @Test
+    public void repeatingEventCheck() throws Exception {
+        Events event = new Events("standup /from 09:00 /to 09:30 /on 2020-05-11 /every week count 4");
+        assertEquals("[E][ ] standup (from: 9:00 am to: 9:30 am on: May 11 2020, every week, 4 times)", event.print());
+        assertEquals("[E][ ] standup (from: 9:00 am to: 9:30 am on: May 25 2020, every week, 4 times)",
+                event.printOn(LocalDate.of(2020, 5, 25)));
+
+        // the recurrence is kept when an update rewrites desc
+        event.setStartTime(java.time.LocalTime.of(8, 0));
+        event.setDesc("08:00");
+        assertEquals("standup /from 08:00 /to 09:30 /on 2020-05-11 /every week count 4", event.getTaskDesc());
+
+        assertThrows(InvalidRecurrenceException.class, () -> new Deadlines("call /by 16:00 /every day"));
+    }
+}
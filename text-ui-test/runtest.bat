@@ -6,8 +6,11 @@ if not exist ..\bin mkdir ..\bin
 REM delete output from previous run
 if exist ACTUAL.TXT del ACTUAL.TXT
 
-REM compile the code into the bin folder
-javac  -cp ..\src\main\java -Xlint:none -d ..\bin ..\src\main\java\*.java
+REM start every run from an empty task file
+if exist data rmdir /s /q data
+
+REM compile the headless runner and the classes it uses into the bin folder
+javac -sourcepath ..\src\main\java -Xlint:none -d ..\bin ..\src\main\java\Main\Headless.java
 IF ERRORLEVEL 1 (
     echo ********** BUILD FAILURE **********
     exit /b 1
@@ -15,7 +18,7 @@ IF ERRORLEVEL 1 (
 REM no error here, errorlevel == 0
 
 REM run the program, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
-java -classpath ..\bin Main.Flash < input.txt > ACTUAL.TXT
+java -Duser.language=en -Duser.country=SG -classpath ..\bin Main.Headless < input.txt > ACTUAL.TXT
 
 REM compare the output to the expected output
 FC ACTUAL.TXT EXPECTED.TXT
@@ -12,15 +12,18 @@ then
     rm ACTUAL.TXT
 fi
 
-# compile the code into the bin folder, terminates if error occurred
-if ! javac -cp ../src/main/java -Xlint:none -d ../bin ../src/main/java/**/*.java
+# start every run from an empty task file
+rm -rf ./data
+
+# compile the headless runner and the classes it uses into the bin folder, terminates if error occurred
+if ! javac -sourcepath ../src/main/java -Xlint:none -d ../bin ../src/main/java/Main/Headless.java
 then
     echo "********** BUILD FAILURE **********"
     exit 1
 fi
 
 # run the program, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
-java -classpath ../bin Flash < input.txt > ACTUAL.TXT
+java -Duser.language=en -Duser.country=SG -classpath ../bin Main.Headless < input.txt > ACTUAL.TXT
 
 # convert to UNIX format
 cp EXPECTED.TXT EXPECTED-UNIX.TXT